@@ -0,0 +1,100 @@
+package com.subscription.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows latency, in the style of the gradient algorithm. A slow
+ * moving average of response time stands for the no-load latency and a fast one for the
+ * current latency. Their ratio scales the limit: down while queueing adds latency, and up by
+ * a small headroom while it does not. A failed request cuts the limit multiplicatively, as in
+ * AIMD. Acquiring is a compare-and-set; only releases take the lock to update the limit.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_WINDOW_WEIGHT = 0.01;
+    private static final double SHORT_WINDOW_WEIGHT = 0.2;
+    private static final double FAILURE_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Take a slot; false when the limit is reached and the request should be shed
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give the slot back and adjust the limit to the request's outcome
+     */
+    public void release(long rttNanos, boolean failed) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed) {
+                limit = Math.max(minLimit, limit * FAILURE_BACKOFF);
+                return;
+            }
+            if (longRttNanos == 0) {
+                longRttNanos = rttNanos;
+                shortRttNanos = rttNanos;
+                return;
+            }
+            shortRttNanos += (rttNanos - shortRttNanos) * SHORT_WINDOW_WEIGHT;
+            longRttNanos += (rttNanos - longRttNanos) * LONG_WINDOW_WEIGHT;
+            // After a lasting slowdown, the slow average drifts towards the new normal faster
+            if (longRttNanos > 2 * shortRttNanos) {
+                longRttNanos *= 0.95;
+            }
+
+            // Only grow when the limit is actually being used
+            if (inFlightAtRelease < limit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / shortRttNanos));
+            double headroom = Math.sqrt(limit);
+            double target = limit * gradient + headroom;
+            limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+        }
+    }
+
+    /**
+     * Give the slot back without a latency sample, e.g. when the request went asynchronous
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
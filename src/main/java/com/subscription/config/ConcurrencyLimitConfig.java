@@ -0,0 +1,67 @@
+package com.subscription.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Separate adaptive concurrency limits for user management, invitations and Aadhaar, so a
+ * slow database or UIDAI gateway fills up only its own group's slots. Each group publishes
+ * its limit and in-flight count as gauges and its shed requests as a counter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.concurrency-limit.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${app.concurrency-limit.min-limit:4}")
+    private int minLimit;
+
+    @Value("${app.concurrency-limit.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${app.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.concurrency-limit.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor("users")).addPathPatterns("/api/users/**");
+        registry.addInterceptor(interceptor("invitations")).addPathPatterns("/api/invitations/**");
+        // Handing out a transaction id does no I/O and must stay available when UIDAI is slow
+        registry.addInterceptor(interceptor("aadhaar")).addPathPatterns("/api/aadhaar/**")
+                .excludePathPatterns("/api/aadhaar/transaction-id");
+    }
+
+    private ConcurrencyLimitInterceptor interceptor(String group) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing);
+        Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current concurrency limit of the endpoint group")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests of the endpoint group being handled")
+                .tag("group", group)
+                .register(meterRegistry);
+        Counter shed = Counter.builder("http.concurrency.shed")
+                .description("Requests of the endpoint group answered with 503 at the limit")
+                .tag("group", group)
+                .register(meterRegistry);
+        return new ConcurrencyLimitInterceptor(group, limiter, shed, objectMapper, retryAfterSeconds);
+    }
+}
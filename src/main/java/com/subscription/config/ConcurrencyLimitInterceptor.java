@@ -0,0 +1,76 @@
+package com.subscription.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscription.dto.ApiResponse;
+import com.subscription.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Admits requests of one endpoint group while its {@link AdaptiveConcurrencyLimiter} has room
+ * and answers the rest at once with 503, Retry-After and an OVERLOADED error body, instead of
+ * letting them queue.
+ * Streaming and other async requests hold their slot only until the request thread is freed.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter shedCounter;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+    private final String startAttribute;
+
+    public ConcurrencyLimitInterceptor(String group, AdaptiveConcurrencyLimiter limiter, Counter shedCounter,
+                                       ObjectMapper objectMapper, int retryAfterSeconds) {
+        this.limiter = limiter;
+        this.shedCounter = shedCounter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+        this.startAttribute = ConcurrencyLimitInterceptor.class.getName() + "." + group;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // The slot of an async request was already given back when its thread was released
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            shedCounter.increment();
+            response.setStatus(ErrorCode.OVERLOADED.getStatus().value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    ApiResponse.error(ErrorCode.OVERLOADED.name(), "Server is busy, retry later"));
+            return false;
+        }
+        request.setAttribute(startAttribute, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(startAttribute) != null) {
+            request.removeAttribute(startAttribute);
+            limiter.releaseWithoutSample();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long start = (Long) request.getAttribute(startAttribute);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(startAttribute);
+        boolean failed = ex != null || response.getStatus() >= 500;
+        limiter.release(System.nanoTime() - start, failed);
+    }
+}
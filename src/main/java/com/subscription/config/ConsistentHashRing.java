@@ -0,0 +1,45 @@
+package com.subscription.config;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring of shard names. Each shard owns many points on the ring, and a key
+ * belongs to the first point at or after its hash. Adding a shard moves only about 1/N of
+ * the keys.
+ */
+public class ConsistentHashRing {
+
+    private final SortedMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    public String shardFor(long key) {
+        SortedMap<Long, String> tail = ring.tailMap(hash(Long.toString(key)));
+        // Past the last point the ring wraps around to the first
+        return tail.isEmpty() ? ring.get(ring.firstKey()) : tail.get(tail.firstKey());
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
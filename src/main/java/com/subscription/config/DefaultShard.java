@@ -0,0 +1,16 @@
+package com.subscription.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose data belongs to no organization, such as the Aadhaar OTP flow. Its
+ * writes run on the default shard; other writes that name no organization are rejected by
+ * ShardRoutingInterceptor.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DefaultShard {
+}
@@ -0,0 +1,77 @@
+package com.subscription.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Jackson setup shared by all endpoints. JSON stays the default; clients that send
+ * Accept: application/cbor or application/x-jackson-smile get a binary encoding with
+ * timestamps written as epoch millis instead of ISO strings.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Generates bytecode accessors for DTO properties instead of using reflection
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(compactMapper(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(compactMapper(builder, new SmileFactory()));
+    }
+
+    private ObjectMapper compactMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        SimpleModule epochMillis = new SimpleModule("EpochMillisLocalDateTime");
+        epochMillis.addSerializer(LocalDateTime.class, new EpochMillisSerializer());
+        epochMillis.addDeserializer(LocalDateTime.class, new EpochMillisDeserializer());
+
+        return builder.factory(factory)
+                // Registered after the standard modules so it takes precedence over JavaTimeModule
+                .postConfigurer(mapper -> mapper.registerModule(epochMillis))
+                .build();
+    }
+
+    static class EpochMillisSerializer extends JsonSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    static class EpochMillisDeserializer extends JsonDeserializer<LocalDateTime> {
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), ZoneId.systemDefault());
+        }
+    }
+}
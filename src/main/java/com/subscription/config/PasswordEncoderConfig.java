@@ -0,0 +1,20 @@
+package com.subscription.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder for user and invitation passwords. The delegating encoder stores new
+ * passwords as {bcrypt} and still matches any other prefixed hash, such as the {noop}
+ * seed of the loadtest profile.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
+}
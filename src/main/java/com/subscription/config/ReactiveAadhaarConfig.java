@@ -0,0 +1,70 @@
+package com.subscription.config;
+
+import com.subscription.repository.ReactiveAadhaarVerificationRepository;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wiring for the reactive Aadhaar API, active only with the "reactive" profile.
+ */
+@Configuration
+@Profile("reactive")
+@EnableR2dbcRepositories(basePackageClasses = ReactiveAadhaarVerificationRepository.class)
+public class ReactiveAadhaarConfig {
+
+    @Value("${aadhaar.api.base-url:https://api.uidai.gov.in}")
+    private String aadhaarApiBaseUrl;
+
+    @Value("${aadhaar.reactive.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${aadhaar.reactive.response-timeout-ms:10000}")
+    private long responseTimeoutMs;
+
+    @Value("${aadhaar.reactive.max-connections:1000}")
+    private int maxConnections;
+
+    /**
+     * DataSource auto-configuration backs off when an R2DBC ConnectionFactory exists, so the JDBC
+     * DataSource used by JPA is declared explicitly for this profile.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean
+    public WebClient aadhaarWebClient(WebClient.Builder builder) {
+        ConnectionProvider provider = ConnectionProvider.builder("aadhaar-gateway")
+                .maxConnections(maxConnections)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        return builder
+                .baseUrl(aadhaarApiBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
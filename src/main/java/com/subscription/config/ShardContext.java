@@ -0,0 +1,48 @@
+package com.subscription.config;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread works against. Bound per request by ShardRoutingInterceptor and
+ * read by ShardRoutingDataSource whenever a connection is taken; unbound means the default shard.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(String shard) {
+        CURRENT.set(shard);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callIn(String shard, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void runIn(String shard, Runnable work) {
+        callIn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.subscription.config;
+
+import com.subscription.dto.OrganizationScoped;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Routes requests that name their organization only in the JSON body, such as creating a
+ * user. The body is read before the handler runs, so the shard is bound before any
+ * transaction takes a connection.
+ */
+@ControllerAdvice
+@Profile("sharded")
+@RequiredArgsConstructor
+public class ShardRoutingBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private final ShardRoutingInterceptor shardRoutingInterceptor;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return OrganizationScoped.class.isAssignableFrom(methodParameter.getParameterType());
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        shardRoutingInterceptor.routeBody(attributes.getRequest(), attributes.getResponse(),
+                ((OrganizationScoped) body).getOrganizationId());
+        return body;
+    }
+}
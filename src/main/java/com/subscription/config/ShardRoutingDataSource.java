@@ -0,0 +1,28 @@
+package com.subscription.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out connections of the shard bound in ShardContext. Transactions keep the connection
+ * they started with, so a transaction never spans shards.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    /**
+     * The physical DataSource of one shard, for work that must bypass routing
+     */
+    public DataSource shardDataSource(String shard) {
+        DataSource dataSource = getResolvedDataSources().get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,160 @@
+package com.subscription.config;
+
+import com.subscription.dto.OrganizationScoped;
+import com.subscription.exception.ErrorCode;
+import com.subscription.exception.InvalidOperationException;
+import com.subscription.service.InvitationTokenService;
+import com.subscription.service.ShardDirectory;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Binds each request to the shard of its organization, taken from the organizationId path
+ * variable or request parameter, or from the invitation token of the token endpoints. Requests
+ * carrying the organization in an {@link OrganizationScoped} body are routed by
+ * ShardRoutingBodyAdvice once the body is read. Writes that name no organization are rejected
+ * unless their handler is marked {@link DefaultShard}, so they cannot land on the default shard
+ * by accident. Writes of an organization that is being moved are refused with 503 and
+ * Retry-After; reads keep going to the old shard until the move completes.
+ */
+@Component
+@Profile("sharded")
+@RequiredArgsConstructor
+public class ShardRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String WRITE_ORGANIZATION_ATTRIBUTE = ShardRoutingInterceptor.class.getName() + ".write";
+    private static final String SHARD_ATTRIBUTE = ShardRoutingInterceptor.class.getName() + ".shard";
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final ShardDirectory shardDirectory;
+    private final InvitationTokenService invitationTokenService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // An async dispatch continues the original request on its shard
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            String shard = (String) request.getAttribute(SHARD_ATTRIBUTE);
+            if (shard != null) {
+                ShardContext.bind(shard);
+            }
+            return true;
+        }
+        if (request.getDispatcherType() == DispatcherType.ERROR) {
+            return true;
+        }
+
+        Long organizationId = organizationIdOf(request);
+        if (organizationId != null) {
+            route(request, response, organizationId);
+        } else if (isWrite(request) && !routedElsewhere(handler)) {
+            throw new InvalidOperationException(ErrorCode.ORGANIZATION_REQUIRED,
+                    "organizationId is required to route this request");
+        }
+        return true;
+    }
+
+    /**
+     * Route a request whose organization is only known from its body; see ShardRoutingBodyAdvice
+     */
+    void routeBody(HttpServletRequest request, HttpServletResponse response, Long organizationId) {
+        if (request.getAttribute(SHARD_ATTRIBUTE) != null) {
+            return;
+        }
+        if (organizationId == null) {
+            throw new InvalidOperationException(ErrorCode.ORGANIZATION_REQUIRED,
+                    "organizationId is required to route this request");
+        }
+        route(request, response, organizationId);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async work carries the shard on its own thread; see ShardingWebConfig
+        ShardContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long writeOrganizationId = (Long) request.getAttribute(WRITE_ORGANIZATION_ATTRIBUTE);
+        if (writeOrganizationId != null) {
+            request.removeAttribute(WRITE_ORGANIZATION_ATTRIBUTE);
+            shardDirectory.endWrite(writeOrganizationId);
+        }
+        ShardContext.clear();
+    }
+
+    private void route(HttpServletRequest request, HttpServletResponse response, Long organizationId) {
+        if (isWrite(request)) {
+            if (!shardDirectory.tryBeginWrite(organizationId)) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+                throw new InvalidOperationException(ErrorCode.ORGANIZATION_MOVING,
+                        "Organization is being moved to another shard, retry later");
+            }
+            request.setAttribute(WRITE_ORGANIZATION_ATTRIBUTE, organizationId);
+        }
+
+        String shard = shardDirectory.shardFor(organizationId);
+        request.setAttribute(SHARD_ATTRIBUTE, shard);
+        ShardContext.bind(shard);
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    /**
+     * Whether the handler works on the default shard by design or is routed by its body
+     */
+    private static boolean routedElsewhere(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return false;
+        }
+        if (handlerMethod.hasMethodAnnotation(DefaultShard.class)) {
+            return true;
+        }
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            if (parameter.hasParameterAnnotation(RequestBody.class)
+                    && OrganizationScoped.class.isAssignableFrom(parameter.getParameterType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long organizationIdOf(HttpServletRequest request) {
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = pathVariables != null ? pathVariables.get("organizationId") : null;
+        if (value == null) {
+            value = request.getParameter("organizationId");
+        }
+        if (value != null) {
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        // Invitation tokens name their organization; a bad token is refused here as the service would
+        String token = pathVariables != null ? pathVariables.get("token") : null;
+        if (token == null) {
+            token = request.getParameter("token");
+        }
+        return token != null ? invitationTokenService.verify(token).organizationId() : null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.subscription.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Organization sharding, active only with the "sharded" profile. JPA, JdbcTemplate and the
+ * transaction manager all run on one routing DataSource, so repositories stay unchanged.
+ */
+@Configuration
+@Profile("sharded")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("app.sharding.shards must list at least one shard");
+        }
+        Map<Object, Object> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            shards.put(shard.getName(), DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build());
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(shards);
+        routingDataSource.setDefaultTargetDataSource(shards.get(properties.getShards().get(0).getName()));
+        routingDataSource.setLenientFallback(false);
+        return routingDataSource;
+    }
+}
@@ -0,0 +1,36 @@
+package com.subscription.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shards of the "sharded" profile. The first shard is the default one: it serves requests
+ * without an organization and keeps the organization-to-shard overrides.
+ */
+@Data
+@ConfigurationProperties("app.sharding")
+public class ShardingProperties {
+
+    private List<Shard> shards = new ArrayList<>();
+
+    // Points per shard on the hash ring; more points spread organizations more evenly
+    private int virtualNodes = 128;
+
+    // How long a move waits for in-flight writes of the organization to finish
+    private long moveDrainTimeoutMs = 10000;
+
+    // How long a move waits for the analytics projector to apply the organization's events;
+    // must exceed app.event-log.gap-timeout-ms
+    private long moveProjectionTimeoutMs = 60000;
+
+    @Data
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,43 @@
+package com.subscription.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Profile("sharded")
+@RequiredArgsConstructor
+public class ShardingWebConfig implements WebMvcConfigurer {
+
+    private final ShardRoutingInterceptor shardRoutingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Moving an organization must not wait on its own request
+        registry.addInterceptor(shardRoutingInterceptor).excludePathPatterns("/api/admin/shards/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Streaming responses run on MVC async threads; carry the request's shard over to them
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setDaemon(true);
+        executor.setTaskDecorator(task -> {
+            String shard = ShardContext.current();
+            return () -> {
+                if (shard == null) {
+                    task.run();
+                } else {
+                    ShardContext.runIn(shard, task);
+                }
+            };
+        });
+        executor.initialize();
+        configurer.setTaskExecutor(executor);
+    }
+}
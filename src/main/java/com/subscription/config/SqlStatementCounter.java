@@ -0,0 +1,46 @@
+package com.subscription.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Registered as the
+ * statement inspector by {@link SqlStatementCountingConfig}; statements run through
+ * JdbcTemplate are not seen. Tests hold code paths to a query budget through SqlStatementBudget.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting on this thread, discarding any count in progress
+     */
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    /**
+     * Statements counted since {@link #start()}, or 0 when not counting
+     */
+    public static long current() {
+        long[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * Stop counting and return the count
+     */
+    public static long stop() {
+        long count = current();
+        COUNT.remove();
+        return count;
+    }
+}
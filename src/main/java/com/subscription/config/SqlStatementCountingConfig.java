@@ -0,0 +1,58 @@
+package com.subscription.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts SQL statements per HTTP request outside production, to catch N+1 query patterns
+ * before they ship. Each request's count is recorded in the sql.statements.per.request
+ * summary, tagged by method and URI pattern, and returned in the X-SQL-Statement-Count
+ * header by {@link SqlStatementCountHeaderAdvice}.
+ */
+@Configuration
+@Profile("!prod")
+public class SqlStatementCountingConfig {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public OncePerRequestFilter sqlStatementCountingFilter(MeterRegistry meterRegistry) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                SqlStatementCounter.start();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    long statements = SqlStatementCounter.stop();
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    DistributionSummary.builder("sql.statements.per.request")
+                            .description("SQL statements prepared while handling one HTTP request")
+                            .tag("method", request.getMethod())
+                            .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                            .register(meterRegistry)
+                            .record(statements);
+                }
+            }
+        };
+    }
+}
@@ -1,135 +1,198 @@
 package com.subscription.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscription.config.DefaultShard;
 import com.subscription.dto.*;
+import com.subscription.model.AadhaarVerificationStatus;
 import com.subscription.model.Organization;
 import com.subscription.model.User;
 import com.subscription.model.UserRole;
+import com.subscription.service.AadhaarBatchVerificationService;
 import com.subscription.service.AadhaarVerificationService;
+import com.subscription.service.IdempotencyService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/aadhaar")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class AadhaarVerificationController {
 
     private final AadhaarVerificationService aadhaarVerificationService;
+    private final IdempotencyService idempotencyService;
+    private final AadhaarBatchVerificationService aadhaarBatchVerificationService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/generate-otp")
-    public ResponseEntity<ApiResponse<Map<String, String>>> generateOtp(@Valid @RequestBody AadhaarOtpRequest request) {
+    @DefaultShard
+    public ResponseEntity<ApiResponse<Map<String, String>>> generateOtp(
+            @Valid @RequestBody AadhaarOtpRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        log.info("Generating OTP for Aadhaar verification");
+        
+        if (idempotencyKey != null) {
+            Optional<ResponseEntity<ApiResponse<Map<String, String>>>> replay = idempotencyService
+                    .begin("generate-otp", idempotencyKey, request, new TypeReference<>() {});
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+        }
+        
+        ResponseEntity<ApiResponse<Map<String, String>>> response = null;
         try {
-            log.info("Generating OTP for Aadhaar verification");
-            
             Map<String, String> result = aadhaarVerificationService.generateOtp(request);
-            
-            return ResponseEntity.ok(ApiResponse.success("OTP generated successfully", result));
-            
-        } catch (Exception e) {
-            log.error("Error generating OTP: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to generate OTP: " + e.getMessage()));
+            response = ResponseEntity.ok(ApiResponse.success("OTP generated successfully", result));
+            return response;
+        } finally {
+            if (idempotencyKey != null) {
+                idempotencyService.complete("generate-otp", idempotencyKey, request, response);
+            }
         }
     }
 
     @PostMapping("/verify-otp")
-    public ResponseEntity<ApiResponse<AadhaarVerificationResponse>> verifyOtp(@Valid @RequestBody AadhaarOtpVerifyRequest request) {
+    @DefaultShard
+    public ResponseEntity<ApiResponse<AadhaarVerificationResponse>> verifyOtp(
+            @Valid @RequestBody AadhaarOtpVerifyRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        log.info("Verifying OTP for Aadhaar verification");
+        
+        if (idempotencyKey != null) {
+            Optional<ResponseEntity<ApiResponse<AadhaarVerificationResponse>>> replay = idempotencyService
+                    .begin("verify-otp", idempotencyKey, request, new TypeReference<>() {});
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+        }
+        
+        // A replay answers with the verification outcome only; the demographic details are not stored
+        ResponseEntity<ApiResponse<AadhaarVerificationResponse>> replayable = null;
         try {
-            log.info("Verifying OTP for Aadhaar verification");
-            
             AadhaarVerificationResponse response = aadhaarVerificationService.verifyOtp(request);
-            
-            if (response.isVerified()) {
-                return ResponseEntity.ok(ApiResponse.success("Aadhaar verification successful", response));
-            } else {
+            if (!response.isVerified()) {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("Aadhaar verification failed: " + response.getErrorMessage()));
             }
-            
-        } catch (Exception e) {
-            log.error("Error verifying OTP: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to verify OTP: " + e.getMessage()));
+            replayable = ResponseEntity.ok(ApiResponse.success("Aadhaar verification successful", response.withoutPersonalData()));
+            return ResponseEntity.ok(ApiResponse.success("Aadhaar verification successful", response));
+        } finally {
+            if (idempotencyKey != null) {
+                idempotencyService.complete("verify-otp", idempotencyKey, request, replayable);
+            }
         }
     }
 
     @PostMapping("/verify")
-    public ResponseEntity<ApiResponse<AadhaarVerificationResponse>> verifyAadhaar(@Valid @RequestBody AadhaarVerificationRequest request) {
-        try {
-            log.info("Performing Aadhaar verification");
-            
-            // Mock current user (should come from security context)
-            User currentUser = User.builder()
-                    .id(1L)
-                    .email("user@example.com")
-                    .organization(Organization.builder().id(1L).name("Test Org").build())
-                    .role(UserRole.ADMIN)
-                    .build();
-            
-            AadhaarVerificationResponse response = aadhaarVerificationService.verifyAadhaar(request, currentUser);
-            
-            if (response.isVerified()) {
-                return ResponseEntity.ok(ApiResponse.success("Aadhaar verification successful", response));
-            } else {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("Aadhaar verification failed: " + response.getErrorMessage()));
-            }
-            
-        } catch (Exception e) {
-            log.error("Error verifying Aadhaar: {}", e.getMessage(), e);
+    public ResponseEntity<ApiResponse<AadhaarVerificationResponse>> verifyAadhaar(
+            @Valid @RequestBody AadhaarVerificationRequest request,
+            // The mock user's organization unless named; the sharded profile requires it
+            @RequestParam(defaultValue = "1") Long organizationId) {
+        log.info("Performing Aadhaar verification");
+        
+        // Mock current user (should come from security context)
+        User currentUser = User.builder()
+                .id(1L)
+                .email("user@example.com")
+                .organization(Organization.builder().id(organizationId).name("Test Org").build())
+                .role(UserRole.ADMIN)
+                .build();
+        
+        AadhaarVerificationResponse response = aadhaarVerificationService.verifyAadhaar(request, currentUser);
+        
+        if (response.isVerified()) {
+            return ResponseEntity.ok(ApiResponse.success("Aadhaar verification successful", response));
+        } else {
             return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to verify Aadhaar: " + e.getMessage()));
+                    .body(ApiResponse.error("Aadhaar verification failed: " + response.getErrorMessage()));
         }
     }
 
+    @PostMapping(value = "/verify/batch", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> verifyAadhaarBatch(
+            @Valid @RequestBody AadhaarBatchVerificationRequest request,
+            // The mock user's organization unless named; the sharded profile requires it
+            @RequestParam(defaultValue = "1") Long organizationId) {
+        log.info("Performing batch Aadhaar verification of {} entries", request.getVerifications().size());
+        
+        // Mock current user (should come from security context)
+        User currentUser = User.builder()
+                .id(1L)
+                .email("user@example.com")
+                .organization(Organization.builder().id(organizationId).name("Test Org").build())
+                .role(UserRole.ADMIN)
+                .build();
+        
+        // One JSON line per entry, written as soon as it has been verified and persisted
+        StreamingResponseBody body = out -> aadhaarBatchVerificationService.verifyBatch(
+                request.getVerifications(), currentUser, item -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(item));
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     @GetMapping("/transaction-id")
     public ResponseEntity<ApiResponse<String>> generateTransactionId() {
-        try {
-            String transactionId = aadhaarVerificationService.generateTransactionId();
-            return ResponseEntity.ok(ApiResponse.success("Transaction ID generated", transactionId));
-        } catch (Exception e) {
-            log.error("Error generating transaction ID: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to generate transaction ID: " + e.getMessage()));
-        }
+        String transactionId = aadhaarVerificationService.generateTransactionId();
+        return ResponseEntity.ok(ApiResponse.success("Transaction ID generated", transactionId));
+    }
+
+    @GetMapping("/verified/{userId}")
+    public ResponseEntity<ApiResponse<Boolean>> isUserVerified(
+            @PathVariable Long userId,
+            // Only routes the request to the organization's shard
+            @RequestParam(required = false) Long organizationId) {
+        boolean verified = aadhaarVerificationService.isUserVerified(userId);
+        return ResponseEntity.ok(ApiResponse.success("Verification status retrieved", verified));
     }
 
     @GetMapping("/status/{verificationId}")
-    public ResponseEntity<ApiResponse<AadhaarVerificationResponse>> getVerificationStatus(@PathVariable String verificationId) {
-        try {
-            log.info("Getting verification status for ID: {}", verificationId);
-            
-            AadhaarVerificationResponse response = aadhaarVerificationService.getVerificationById(verificationId);
-            
-            return ResponseEntity.ok(ApiResponse.success("Verification status retrieved", response));
-            
-        } catch (Exception e) {
-            log.error("Error getting verification status: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to get verification status: " + e.getMessage()));
-        }
+    public ResponseEntity<ApiResponse<AadhaarVerificationResponse>> getVerificationStatus(
+            @PathVariable String verificationId,
+            // Only routes the request to the organization's shard; OTP verifications have none
+            @RequestParam(required = false) Long organizationId) {
+        log.info("Getting verification status for ID: {}", verificationId);
+        
+        AadhaarVerificationResponse response = aadhaarVerificationService.getVerificationById(verificationId);
+        
+        return ResponseEntity.ok(ApiResponse.success("Verification status retrieved", response));
     }
 
     @GetMapping("/history/{userId}")
-    public ResponseEntity<ApiResponse<List<AadhaarVerificationResponse>>> getVerificationHistory(@PathVariable Long userId) {
-        try {
-            log.info("Getting verification history for user: {}", userId);
-            
-            List<AadhaarVerificationResponse> history = aadhaarVerificationService.getVerificationHistory(userId);
-            
-            return ResponseEntity.ok(ApiResponse.success("Verification history retrieved", history));
-            
-        } catch (Exception e) {
-            log.error("Error getting verification history: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to get verification history: " + e.getMessage()));
-        }
+    public ResponseEntity<ApiResponse<AadhaarVerificationHistoryPage>> getVerificationHistory(
+            @PathVariable Long userId,
+            // Only routes the request to the organization's shard
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) AadhaarVerificationStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Getting verification history for user: {}", userId);
+        
+        AadhaarVerificationHistoryPage history = aadhaarVerificationService.getVerificationHistory(userId, status, cursor, size);
+        
+        return ResponseEntity.ok(ApiResponse.success("Verification history retrieved", history));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.subscription.controller;
+
+import com.subscription.dto.ApiResponse;
+import com.subscription.dto.OrganizationStatsDto;
+import com.subscription.dto.VerificationFunnelDto;
+import com.subscription.service.DomainEventProjector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsController {
+    
+    private final DomainEventProjector domainEventProjector;
+    
+    @GetMapping("/organizations/{organizationId}")
+    public ResponseEntity<ApiResponse<OrganizationStatsDto>> getOrganizationStats(@PathVariable Long organizationId) {
+        OrganizationStatsDto stats = domainEventProjector.getOrganizationStats(organizationId);
+        return ResponseEntity.ok(ApiResponse.success("Organization stats fetched", stats));
+    }
+    
+    @GetMapping("/verification-funnel")
+    public ResponseEntity<ApiResponse<VerificationFunnelDto>> getVerificationFunnel() {
+        VerificationFunnelDto funnel = domainEventProjector.getVerificationFunnel();
+        return ResponseEntity.ok(ApiResponse.success("Verification funnel fetched", funnel));
+    }
+}
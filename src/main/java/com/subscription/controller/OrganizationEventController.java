@@ -0,0 +1,25 @@
+package com.subscription.controller;
+
+import com.subscription.service.OrganizationEventBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/organizations")
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class OrganizationEventController {
+    
+    private final OrganizationEventBroadcaster organizationEventBroadcaster;
+    
+    @GetMapping(value = "/{organizationId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable Long organizationId) {
+        log.info("Opening event stream for organization: {}", organizationId);
+        return organizationEventBroadcaster.subscribe(organizationId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.subscription.controller;
+
+import com.subscription.dto.*;
+import com.subscription.service.ReactiveAadhaarVerificationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive variant of {@link AadhaarVerificationController}, serving the same
+ * /api/aadhaar endpoints when the "reactive" profile is active.
+ */
+@RestController
+@RequestMapping("/api/aadhaar")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAadhaarVerificationController {
+
+    // Mock current user id (should come from security context)
+    private static final Long CURRENT_USER_ID = 1L;
+
+    private final ReactiveAadhaarVerificationService verificationService;
+
+    @PostMapping("/generate-otp")
+    public Mono<ResponseEntity<ApiResponse<Map<String, String>>>> generateOtp(@Valid @RequestBody AadhaarOtpRequest request) {
+        log.info("Generating OTP for Aadhaar verification");
+
+        return verificationService.generateOtp(request)
+                .map(result -> ResponseEntity.ok(ApiResponse.success("OTP generated successfully", result)));
+    }
+
+    @PostMapping("/verify-otp")
+    public Mono<ResponseEntity<ApiResponse<AadhaarVerificationResponse>>> verifyOtp(@Valid @RequestBody AadhaarOtpVerifyRequest request) {
+        log.info("Verifying OTP for Aadhaar verification");
+
+        return verificationService.verifyOtp(request)
+                .map(this::toVerificationResult);
+    }
+
+    @PostMapping("/verify")
+    public Mono<ResponseEntity<ApiResponse<AadhaarVerificationResponse>>> verifyAadhaar(@Valid @RequestBody AadhaarVerificationRequest request) {
+        log.info("Performing Aadhaar verification");
+
+        return verificationService.verifyAadhaar(request, CURRENT_USER_ID)
+                .map(this::toVerificationResult);
+    }
+
+    @GetMapping("/transaction-id")
+    public Mono<ResponseEntity<ApiResponse<String>>> generateTransactionId() {
+        return Mono.fromSupplier(verificationService::generateTransactionId)
+                .map(transactionId -> ResponseEntity.ok(ApiResponse.success("Transaction ID generated", transactionId)));
+    }
+
+    @GetMapping("/status/{verificationId}")
+    public Mono<ResponseEntity<ApiResponse<AadhaarVerificationResponse>>> getVerificationStatus(@PathVariable String verificationId) {
+        log.info("Getting verification status for ID: {}", verificationId);
+
+        return verificationService.getVerificationById(verificationId)
+                .map(response -> ResponseEntity.ok(ApiResponse.success("Verification status retrieved", response)));
+    }
+
+    @GetMapping("/history/{userId}")
+    public Mono<ResponseEntity<ApiResponse<List<AadhaarVerificationResponse>>>> getVerificationHistory(@PathVariable Long userId) {
+        log.info("Getting verification history for user: {}", userId);
+
+        return verificationService.getVerificationHistory(userId)
+                .collectList()
+                .map(history -> ResponseEntity.ok(ApiResponse.success("Verification history retrieved", history)));
+    }
+
+    private ResponseEntity<ApiResponse<AadhaarVerificationResponse>> toVerificationResult(AadhaarVerificationResponse response) {
+        if (response.isVerified()) {
+            return ResponseEntity.ok(ApiResponse.success("Aadhaar verification successful", response));
+        }
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Aadhaar verification failed: " + response.getErrorMessage()));
+    }
+}
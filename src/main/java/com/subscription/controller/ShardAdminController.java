@@ -0,0 +1,33 @@
+package com.subscription.controller;
+
+import com.subscription.dto.ApiResponse;
+import com.subscription.service.OrganizationShardMover;
+import com.subscription.service.ShardDirectory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/shards")
+@Profile("sharded & !reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardAdminController {
+    
+    private final ShardDirectory shardDirectory;
+    private final OrganizationShardMover organizationShardMover;
+    
+    @GetMapping("/organizations/{organizationId}")
+    public ResponseEntity<ApiResponse<String>> getShard(@PathVariable Long organizationId) {
+        return ResponseEntity.ok(ApiResponse.success("Shard found", shardDirectory.shardFor(organizationId)));
+    }
+    
+    @PostMapping("/organizations/{organizationId}/move")
+    public ResponseEntity<ApiResponse<String>> moveOrganization(@PathVariable Long organizationId,
+                                                                @RequestParam String targetShard) {
+        organizationShardMover.move(organizationId, targetShard);
+        return ResponseEntity.ok(ApiResponse.success("Organization moved", targetShard));
+    }
+}
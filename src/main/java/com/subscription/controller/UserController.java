@@ -1,75 +1,156 @@
 package com.subscription.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subscription.dto.ApiResponse;
+import com.subscription.dto.BulkUserUpdateRequest;
+import com.subscription.dto.BulkUserUpdateResult;
 import com.subscription.dto.CreateUserRequest;
 import com.subscription.dto.UserDto;
+import com.subscription.dto.UserSearchPage;
 import com.subscription.model.Organization;
 import com.subscription.model.User;
+import com.subscription.service.OrganizationVersionService;
+import com.subscription.service.UserProvisioningService;
+import com.subscription.service.UserSearchIndex;
 import com.subscription.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class UserController {
     
     private final UserService userService;
+    private final OrganizationVersionService organizationVersionService;
+    private final UserSearchIndex userSearchIndex;
+    private final UserProvisioningService userProvisioningService;
+    private final ObjectMapper objectMapper;
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<UserDto>>> getUsers(@RequestParam Long organizationId, WebRequest webRequest) {
+        // Unchanged since the client's copy: answer 304 before querying or serializing
+        Optional<String> etag = organizationVersionService.etag(
+                organizationId, "users", webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
+        
+        List<UserDto> users = userService.getAllUsersInOrganization(organizationId);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        etag.ifPresent(response::eTag);
+        return response.body(ApiResponse.success("Users fetched", users));
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<UserSearchPage>> searchUsers(
+            @RequestParam Long organizationId,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "true") boolean fuzzy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        UserSearchPage result = userSearchIndex.search(organizationId, query, fuzzy, page, size);
+        return ResponseEntity.ok(ApiResponse.success("Users found", result));
+    }
     
     @PostMapping
     public ResponseEntity<ApiResponse<UserDto>> createUser(@Valid @RequestBody CreateUserRequest request) {
-        try {
-            // Create User object from request
-            User user = User.builder()
-                    .username(request.getUsername())
-                    .email(request.getEmail())
-                    .firstName(request.getFirstName())
-                    .lastName(request.getLastName())
-                    .role(request.getRole())
-                    .status(request.getStatus())
-                    .organization(Organization.builder().id(request.getOrganizationId()).build())
-                    .build();
-            
-            UserDto createdUser = userService.createUser(user, request.getPassword());
-            
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success("User created successfully", createdUser));
-                    
-        } catch (Exception e) {
-            log.error("Error creating user: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to create user: " + e.getMessage()));
-        }
+        // Create User object from request
+        User user = User.builder()
+                .username(request.getUsername())
+                .email(request.getEmail())
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .role(request.getRole())
+                .status(request.getStatus())
+                .organization(Organization.builder().id(request.getOrganizationId()).build())
+                .build();
+        
+        UserDto createdUser = userService.createUser(user, request.getPassword());
+        
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("User created successfully", createdUser));
+    }
+    
+    @PostMapping(value = "/provision", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> provisionUsers(@RequestParam Long organizationId,
+                                                               HttpServletRequest httpRequest) {
+        log.info("Provisioning users for organization: {}", organizationId);
+        
+        // Records are read and answered one JSON line at a time, so the request is never held in memory
+        StreamingResponseBody body = out -> {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(httpRequest.getInputStream(), StandardCharsets.UTF_8))) {
+                userProvisioningService.provision(organizationId, reader.lines().iterator(), result -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(result));
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
+    @PostMapping("/bulk-update")
+    public ResponseEntity<ApiResponse<BulkUserUpdateResult>> bulkUpdateUsers(
+            @Valid @RequestBody BulkUserUpdateRequest request,
+            @RequestParam Long organizationId) {
+        // This should come from security context, as in removeUser
+        User currentUser = User.builder()
+                .id(1L)
+                .organization(Organization.builder().id(organizationId).build())
+                .role(com.subscription.model.UserRole.ADMIN)
+                .build();
+        
+        BulkUserUpdateResult result = userService.bulkUpdateUsers(request, currentUser);
+        
+        return ResponseEntity.ok()
+                .body(ApiResponse.success("Bulk update completed", result));
     }
     
     @DeleteMapping("/{userId}")
     public ResponseEntity<ApiResponse<Void>> removeUser(
             @PathVariable Long userId,
             @RequestParam Long organizationId) {
-        try {
-            // For now, we'll need to get the current user from security context
-            // This is a simplified version - in a real application, you'd get the current user from security context
-            User currentUser = User.builder()
-                    .id(1L) // This should come from security context
-                    .organization(Organization.builder().id(organizationId).build())
-                    .role(com.subscription.model.UserRole.ADMIN) // This should come from security context
-                    .build();
-            
-            userService.removeUser(userId, currentUser);
-            
-            return ResponseEntity.ok()
-                    .body(ApiResponse.success("User removed successfully"));
-                    
-        } catch (Exception e) {
-            log.error("Error removing user: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to remove user: " + e.getMessage()));
-        }
+        // For now, we'll need to get the current user from security context
+        // This is a simplified version - in a real application, you'd get the current user from security context
+        User currentUser = User.builder()
+                .id(1L) // This should come from security context
+                .organization(Organization.builder().id(organizationId).build())
+                .role(com.subscription.model.UserRole.ADMIN) // This should come from security context
+                .build();
+        
+        userService.removeUser(userId, currentUser);
+        
+        return ResponseEntity.ok()
+                .body(ApiResponse.success("User removed successfully"));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.subscription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AadhaarBatchItemResult {
+    private int index;
+    private boolean success;
+    private AadhaarVerificationResponse result;
+    private String errorMessage;
+}
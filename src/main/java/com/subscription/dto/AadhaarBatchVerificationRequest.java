@@ -0,0 +1,22 @@
+package com.subscription.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AadhaarBatchVerificationRequest {
+    
+    // Items are validated one by one so that a bad entry fails alone
+    @NotEmpty(message = "At least one verification is required")
+    @Size(max = 10000, message = "A batch can contain at most 10000 verifications")
+    private List<AadhaarVerificationRequest> verifications;
+}
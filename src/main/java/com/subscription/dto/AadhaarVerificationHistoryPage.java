@@ -0,0 +1,18 @@
+package com.subscription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AadhaarVerificationHistoryPage {
+    private List<AadhaarVerificationResponse> items;
+    private String nextCursor; // null on the last page
+    private boolean hasMore;
+}
@@ -35,4 +35,7 @@ public class AadhaarVerificationRequest {
     private String address;
     private String photo;
     private String consent;
+    
+    // Batch entries only: the user the verification is recorded for; unattributed when absent
+    private Long userId;
 } 
\ No newline at end of file
@@ -31,4 +31,23 @@ public class AadhaarVerificationResponse {
     private String addressMatch;
     private String nameMatch;
     private String dobMatch;
+    
+    /**
+     * Copy without the demographic details returned by UIDAI, for responses that are stored
+     */
+    public AadhaarVerificationResponse withoutPersonalData() {
+        return AadhaarVerificationResponse.builder()
+                .verified(verified)
+                .verificationId(verificationId)
+                .aadhaarNumber(aadhaarNumber)
+                .errorMessage(errorMessage)
+                .errorCode(errorCode)
+                .verifiedAt(verifiedAt)
+                .verificationMethod(verificationMethod)
+                .faceScore(faceScore)
+                .addressMatch(addressMatch)
+                .nameMatch(nameMatch)
+                .dobMatch(dobMatch)
+                .build();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.subscription.dto;
+
+import com.subscription.model.AadhaarVerificationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the aadhaar_verifications columns shown in verification history.
+ * Constructor order is used by the JPQL constructor expressions in the repositories.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AadhaarVerificationSummary {
+    private Long id;
+    private String verificationId;
+    private String aadhaarNumber;
+    private AadhaarVerificationStatus status;
+    private String verificationMethod;
+    private String nameMatch;
+    private String dobMatch;
+    private String faceScore;
+    private String addressMatch;
+    private String errorMessage;
+    private String errorCode;
+    private LocalDateTime verifiedAt;
+    private LocalDateTime createdAt;
+}
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 public class ApiResponse<T> {
     private boolean success;
     private String message;
+    private String errorCode;
     private T data;
     private LocalDateTime timestamp;
     
@@ -31,9 +32,14 @@ public class ApiResponse<T> {
     }
     
     public static <T> ApiResponse<T> error(String message) {
+        return error(null, message);
+    }
+    
+    public static <T> ApiResponse<T> error(String errorCode, String message) {
         return ApiResponse.<T>builder()
                 .success(false)
                 .message(message)
+                .errorCode(errorCode)
                 .timestamp(LocalDateTime.now())
                 .build();
     }
@@ -0,0 +1,28 @@
+package com.subscription.dto;
+
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserUpdateRequest {
+    
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 5000, message = "At most 5000 users can be updated at once")
+    private List<Long> userIds;
+    
+    // At least one of role and status must be set
+    private UserRole role;
+    
+    private UserStatus status;
+}
@@ -0,0 +1,28 @@
+package com.subscription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserUpdateResult {
+    private List<ItemResult> results; // in request order
+    private int updated;
+    private int failed;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long userId;
+        private boolean success;
+        private String errorMessage;
+    }
+}
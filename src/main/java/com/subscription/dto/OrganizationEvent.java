@@ -0,0 +1,70 @@
+package com.subscription.dto;
+
+import com.subscription.model.Invitation;
+import com.subscription.model.InvitationStatus;
+import com.subscription.model.OrganizationEventType;
+import com.subscription.model.User;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationEvent {
+    private OrganizationEventType type;
+    private Long organizationId;
+    private Long userId;
+    private Long invitationId;
+    private String email;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private UserRole role;
+    private UserStatus userStatus;
+    private UserRole previousRole;
+    private UserStatus previousUserStatus;
+    private InvitationStatus invitationStatus;
+    private LocalDateTime occurredAt;
+    
+    public static OrganizationEvent forUser(OrganizationEventType type, User user) {
+        return OrganizationEvent.builder()
+                .type(type)
+                .organizationId(user.getOrganization().getId())
+                .userId(user.getId())
+                .email(user.getEmail())
+                .username(user.getUsername())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .role(user.getRole())
+                .userStatus(user.getStatus())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+    
+    public static OrganizationEvent forUserChange(OrganizationEventType type, User user,
+                                                  UserRole previousRole, UserStatus previousUserStatus) {
+        OrganizationEvent event = forUser(type, user);
+        event.setPreviousRole(previousRole);
+        event.setPreviousUserStatus(previousUserStatus);
+        return event;
+    }
+    
+    public static OrganizationEvent forInvitation(OrganizationEventType type, Invitation invitation) {
+        return OrganizationEvent.builder()
+                .type(type)
+                .organizationId(invitation.getOrganization().getId())
+                .invitationId(invitation.getId())
+                .email(invitation.getEmail())
+                .role(invitation.getRole())
+                .invitationStatus(invitation.getStatus())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
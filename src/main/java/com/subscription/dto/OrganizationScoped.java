@@ -0,0 +1,10 @@
+package com.subscription.dto;
+
+/**
+ * A request body naming the organization it belongs to. With the sharded profile such
+ * requests are routed to that organization's shard once the body has been read.
+ */
+public interface OrganizationScoped {
+
+    Long getOrganizationId();
+}
@@ -0,0 +1,22 @@
+package com.subscription.dto;
+
+import com.subscription.model.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationStatsDto {
+    private Long organizationId;
+    private long memberCount;
+    private long activeMemberCount;
+    private long pendingInvitationCount;
+    private Map<UserRole, Long> roleDistribution;
+    private long eventSequence; // last event log entry reflected in these numbers
+}
@@ -0,0 +1,19 @@
+package com.subscription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProvisioningResult {
+    private int index; // position of the record in the request stream
+    private boolean success;
+    private Long userId;
+    private String username;
+    private String email;
+    private String errorMessage;
+}
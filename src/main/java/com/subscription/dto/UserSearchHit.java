@@ -0,0 +1,23 @@
+package com.subscription.dto;
+
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchHit {
+    private Long id;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private UserRole role;
+    private UserStatus status;
+    private int score; // higher is better: exact > prefix > fuzzy, summed over query terms
+}
@@ -0,0 +1,19 @@
+package com.subscription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchPage {
+    private List<UserSearchHit> items;
+    private int page;
+    private int size;
+    private int totalMatches;
+}
@@ -0,0 +1,19 @@
+package com.subscription.dto;
+
+import com.subscription.model.AadhaarVerificationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationFunnelDto {
+    private Map<AadhaarVerificationStatus, Long> reached; // verifications that ever entered each status
+    private Map<AadhaarVerificationStatus, Long> current;
+    private long eventSequence;
+}
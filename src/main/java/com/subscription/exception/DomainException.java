@@ -0,0 +1,20 @@
+package com.subscription.exception;
+
+/**
+ * Base of the exceptions thrown for expected business outcomes: a bad token, a missing user,
+ * a forbidden change. These are ordinary control flow. They carry no stack trace, since
+ * capturing one is the main cost of throwing, and the message and code say all there is to know.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    protected DomainException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
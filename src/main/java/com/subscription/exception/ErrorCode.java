@@ -0,0 +1,34 @@
+package com.subscription.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Stable error codes returned to clients in {@code ApiResponse.errorCode}. Clients branch on
+ * these rather than on messages, so existing codes must not be renamed.
+ */
+public enum ErrorCode {
+    INVALID_OPERATION(HttpStatus.BAD_REQUEST),
+    INVALID_INVITATION_TOKEN(HttpStatus.BAD_REQUEST),
+    INVITATION_NO_LONGER_VALID(HttpStatus.GONE),
+    LAST_ADMIN(HttpStatus.CONFLICT),
+    ACCESS_DENIED(HttpStatus.FORBIDDEN),
+    USER_NOT_FOUND(HttpStatus.NOT_FOUND),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST),
+    REQUEST_REJECTED(HttpStatus.BAD_REQUEST),
+    CONFLICT(HttpStatus.CONFLICT),
+    REQUEST_IN_PROGRESS(HttpStatus.CONFLICT),
+    OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE),
+    ORGANIZATION_REQUIRED(HttpStatus.BAD_REQUEST),
+    ORGANIZATION_MOVING(HttpStatus.SERVICE_UNAVAILABLE),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final HttpStatus status;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,76 @@
+package com.subscription.exception;
+
+import com.subscription.dto.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.stream.Collectors;
+
+/**
+ * Maps exceptions from all controllers to an {@link ApiResponse} with a stable error code.
+ * Expected failures are logged in one line without a stack trace; only unexpected ones get
+ * the full trace at ERROR.
+ */
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDomainException(DomainException e) {
+        log.debug("Request rejected with {}: {}", e.getErrorCode(), e.getMessage());
+        return respond(e.getErrorCode(), e.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiResponse<Void>> handleValidation(MethodArgumentNotValidException e) {
+        String message = e.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return respond(ErrorCode.VALIDATION_FAILED, message);
+    }
+
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ApiResponse<Void>> handleBadParameter(Exception e) {
+        return respond(ErrorCode.VALIDATION_FAILED, e.getMessage());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleUnreadableBody(HttpMessageNotReadableException e) {
+        return respond(ErrorCode.VALIDATION_FAILED, "Malformed request body");
+    }
+
+    @ExceptionHandler({DataIntegrityViolationException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ApiResponse<Void>> handleConflict(RuntimeException e) {
+        // Lost races on unique keys and versions; the cause is in the database, not in our code
+        log.warn("Request conflicted with concurrent or existing data: {}", e.getMessage());
+        return respond(ErrorCode.CONFLICT, "Request conflicts with existing data");
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiResponse<Void>> handleUnexpected(Exception e) {
+        // Spring MVC's own exceptions (unsupported method, unknown path, ...) carry their status
+        if (e instanceof ErrorResponse errorResponse) {
+            HttpStatusCode status = errorResponse.getStatusCode();
+            return ResponseEntity.status(status)
+                    .body(ApiResponse.error(ErrorCode.REQUEST_REJECTED.name(), e.getMessage()));
+        }
+        log.error("Unexpected error handling request", e);
+        return respond(ErrorCode.INTERNAL_ERROR, "Unexpected error");
+    }
+
+    private ResponseEntity<ApiResponse<Void>> respond(ErrorCode errorCode, String message) {
+        return ResponseEntity.status(errorCode.getStatus())
+                .body(ApiResponse.error(errorCode.name(), message));
+    }
+}
@@ -0,0 +1,12 @@
+package com.subscription.exception;
+
+public class InvalidOperationException extends DomainException {
+
+    public InvalidOperationException(String message) {
+        super(ErrorCode.INVALID_OPERATION, message);
+    }
+
+    public InvalidOperationException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.subscription.exception;
+
+public class UnauthorizedException extends DomainException {
+
+    public UnauthorizedException(String message) {
+        super(ErrorCode.ACCESS_DENIED, message);
+    }
+}
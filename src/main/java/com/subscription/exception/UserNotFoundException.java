@@ -0,0 +1,8 @@
+package com.subscription.exception;
+
+public class UserNotFoundException extends DomainException {
+
+    public UserNotFoundException(String message) {
+        super(ErrorCode.USER_NOT_FOUND, message);
+    }
+}
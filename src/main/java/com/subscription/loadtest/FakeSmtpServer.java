@@ -0,0 +1,110 @@
+package com.subscription.loadtest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal SMTP server that accepts every message and discards it, so invitation mails cost
+ * a real SMTP round trip without leaving the machine.
+ */
+@Component
+@Profile("loadtest")
+@Slf4j
+public class FakeSmtpServer {
+
+    @Value("${loadtest.smtp.port:2525}")
+    private int port;
+
+    private final AtomicLong messagesReceived = new AtomicLong();
+
+    private ServerSocket serverSocket;
+    private ExecutorService sessions;
+
+    @PostConstruct
+    void start() throws IOException {
+        serverSocket = new ServerSocket(port);
+        sessions = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fake-smtp");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sessions.submit(this::acceptLoop);
+        log.info("Fake SMTP server listening on port {}", port);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.submit(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Fake SMTP accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            reply(out, "220 fake-smtp ready");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 fake-smtp");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // message body is discarded
+                        }
+                        messagesReceived.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Fake SMTP session ended: {}", e.getMessage());
+        }
+    }
+
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write("\r\n");
+        out.flush();
+    }
+}
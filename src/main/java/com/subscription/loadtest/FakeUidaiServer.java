@@ -0,0 +1,122 @@
+package com.subscription.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Stand-in for the UIDAI gateway, served on its own port and threads so that its simulated
+ * latency never occupies the request threads or concurrency slots of the service under test.
+ * Latency is log-normal with the configured median and p99, and the configured share of calls
+ * fails with 503.
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+@Slf4j
+public class FakeUidaiServer {
+
+    // z-score of the 99th percentile of a standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${loadtest.uidai.port:8099}")
+    private int port;
+
+    @Value("${loadtest.uidai.latency-median-ms:80}")
+    private double latencyMedianMs;
+
+    @Value("${loadtest.uidai.latency-p99-ms:400}")
+    private double latencyP99Ms;
+
+    @Value("${loadtest.uidai.error-rate:0.01}")
+    private double errorRate;
+
+    private HttpServer server;
+    private ExecutorService workers;
+
+    @PostConstruct
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fake-uidai");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(workers);
+        server.createContext("/v1/otp", exchange -> handle(exchange, payload -> Map.of(
+                "txnId", payload.path("txnId").asText(),
+                "status", "y")));
+        server.createContext("/v1/otp/verify", exchange -> handle(exchange, payload -> Map.of(
+                "txnId", payload.path("txnId").asText(),
+                "name", "Load Test Resident",
+                "dob", "1990-01-01",
+                "gender", "F",
+                "address", "1 Test Street, Bengaluru")));
+        server.start();
+        log.info("Fake UIDAI gateway listening on port {}", port);
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, Function<JsonNode, Map<String, Object>> responder) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            JsonNode payload;
+            try (InputStream in = exchange.getRequestBody()) {
+                payload = objectMapper.readTree(in);
+            }
+            if (simulateCall()) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] body = objectMapper.writeValueAsBytes(responder.apply(payload));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Sleep for one sampled latency; returns true if this call should fail
+     */
+    private boolean simulateCall() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double sigma = Math.log(latencyP99Ms / latencyMedianMs) / Z_99;
+        long latencyMs = Math.round(latencyMedianMs * Math.exp(sigma * random.nextGaussian()));
+        Thread.sleep(latencyMs);
+        return random.nextDouble() < errorRate;
+    }
+}
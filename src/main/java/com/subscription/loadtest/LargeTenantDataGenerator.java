@@ -0,0 +1,357 @@
+package com.subscription.loadtest;
+
+import com.subscription.model.AadhaarVerificationStatus;
+import com.subscription.model.Invitation;
+import com.subscription.model.InvitationStatus;
+import com.subscription.model.Organization;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import com.subscription.service.InvitationTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads a large synthetic data set for benchmarks and query-plan checks. Tenant sizes follow
+ * a Zipf distribution, so a few organizations hold most of the users, as in production. Users,
+ * invitations and verifications get realistic status mixes and timestamps spread over their
+ * time windows. Organizations are generated in parallel with JDBC batches. Ids are assigned
+ * up front, so workers never coordinate, and output is reproducible for a given seed.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class LargeTenantDataGenerator {
+
+    private static final String PASSWORD = "{noop}password";
+
+    private static final String INSERT_ORGANIZATION = "INSERT INTO organizations " +
+            "(id, name, description, data_version, created_at, updated_at) VALUES (?, ?, ?, 0, ?, ?)";
+
+    private static final String INSERT_USER = "INSERT INTO users " +
+            "(id, username, email, password, first_name, last_name, role, status, organization_id, " +
+            "aadhaar_verified, created_at, updated_at, last_login_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_INVITATION = "INSERT INTO invitations " +
+            "(id, email, first_name, last_name, role, organization_id, invited_by, token, status, " +
+            "expires_at, created_at, accepted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_VERIFICATION = "INSERT INTO aadhaar_verifications " +
+            "(id, verification_id, aadhaar_number, aadhaar_hash, demographics_hash, user_id, status, " +
+            "verification_method, transaction_id, error_code, verified_at, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Ananya", "Diya", "Ishaan",
+            "Kavya", "Meera", "Rohan", "Saanvi", "Arjun", "Priya", "Rahul", "Neha", "Vikram", "Pooja"};
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Iyer", "Reddy", "Nair", "Patel",
+            "Gupta", "Singh", "Das", "Menon", "Rao", "Joshi", "Kulkarni", "Banerjee", "Khan", "Pillai"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InvitationTokenService invitationTokenService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationContext applicationContext;
+
+    @Value("${datagen.organizations:2000}")
+    private int organizations;
+
+    @Value("${datagen.users:6000000}")
+    private long users;
+
+    @Value("${datagen.invitations:1500000}")
+    private long invitations;
+
+    @Value("${datagen.verifications:2500000}")
+    private long verifications;
+
+    // Zipf exponent of tenant sizes; higher means more skew towards the largest tenants
+    @Value("${datagen.skew:1.1}")
+    private double skew;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.threads:8}")
+    private int threads;
+
+    @Value("${datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${datagen.explain:true}")
+    private boolean explain;
+
+    @Value("${datagen.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generate() throws Exception {
+        long started = System.currentTimeMillis();
+        log.info("Generating {} organizations, {} users, {} invitations, {} verifications",
+                organizations, users, invitations, verifications);
+
+        List<Tenant> tenants = planTenants();
+        insertOrganizations(tenants);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (Tenant tenant : tenants) {
+                tasks.add(executor.submit(() -> generateTenant(tenant)));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        resetIdentities();
+        jdbcTemplate.execute("ANALYZE");
+        long seconds = Math.max(1, (System.currentTimeMillis() - started) / 1000);
+        log.info("Generated {} rows in {}s ({} rows/s)", rowsWritten.get(), seconds, rowsWritten.get() / seconds);
+
+        if (explain) {
+            explainHotQueries(tenants.get(0));
+        }
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    /**
+     * Tenant sizes and the id ranges each tenant's rows will use
+     */
+    private List<Tenant> planTenants() {
+        double[] weights = new double[organizations];
+        double totalWeight = 0;
+        for (int i = 0; i < organizations; i++) {
+            weights[i] = 1 / Math.pow(i + 1, skew);
+            totalWeight += weights[i];
+        }
+
+        List<Tenant> tenants = new ArrayList<>(organizations);
+        long nextUserId = 1;
+        long nextInvitationId = 1;
+        long nextVerificationId = 1;
+        for (int i = 0; i < organizations; i++) {
+            double share = weights[i] / totalWeight;
+            long userCount = Math.max(1, Math.round(users * share));
+            long invitationCount = Math.round(invitations * share);
+            long verificationCount = Math.round(verifications * share);
+            tenants.add(new Tenant(i + 1, nextUserId, userCount, nextInvitationId, invitationCount,
+                    nextVerificationId, verificationCount));
+            nextUserId += userCount;
+            nextInvitationId += invitationCount;
+            nextVerificationId += verificationCount;
+        }
+        return tenants;
+    }
+
+    private void insertOrganizations(List<Tenant> tenants) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < tenants.size(); from += batchSize) {
+            List<Tenant> chunk = tenants.subList(from, Math.min(from + batchSize, tenants.size()));
+            jdbcTemplate.batchUpdate(INSERT_ORGANIZATION, chunk, chunk.size(), (ps, tenant) -> {
+                ps.setLong(1, tenant.organizationId());
+                ps.setString(2, String.format("Tenant %05d", tenant.organizationId()));
+                ps.setString(3, tenant.userCount() + " users");
+                ps.setTimestamp(4, now);
+                ps.setTimestamp(5, now);
+            });
+            rowsWritten.addAndGet(chunk.size());
+        }
+    }
+
+    private void generateTenant(Tenant tenant) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + tenant.organizationId());
+        LocalDateTime now = LocalDateTime.now();
+
+        // Verifications are planned first, so a user is aadhaar_verified exactly when one of theirs succeeded
+        int verificationCount = Math.toIntExact(tenant.verificationCount());
+        long[] verificationUsers = new long[verificationCount];
+        AadhaarVerificationStatus[] verificationStatuses = new AadhaarVerificationStatus[verificationCount];
+        BitSet verifiedUsers = new BitSet();
+        for (int i = 0; i < verificationCount; i++) {
+            verificationUsers[i] = tenant.firstUserId() + random.nextLong(tenant.userCount());
+            verificationStatuses[i] = pickVerificationStatus(random);
+            if (verificationStatuses[i] == AadhaarVerificationStatus.SUCCESS) {
+                verifiedUsers.set(Math.toIntExact(verificationUsers[i] - tenant.firstUserId()));
+            }
+        }
+
+        // The tenant's first user is always an admin; they send the invitations
+        insertInChunks(INSERT_USER, tenant.firstUserId(), tenant.userCount(), (ps, id) -> {
+            String name = "u" + id;
+            UserRole role = id == tenant.firstUserId() ? UserRole.ADMIN : pickRole(random);
+            LocalDateTime createdAt = now.minusMinutes(random.nextLong(3 * 365 * 24 * 60));
+            ps.setLong(1, id);
+            ps.setString(2, name);
+            ps.setString(3, name + "@tenant" + tenant.organizationId() + ".example.com");
+            ps.setString(4, PASSWORD);
+            ps.setString(5, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            ps.setString(6, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            ps.setString(7, role.name());
+            ps.setString(8, pickUserStatus(random).name());
+            ps.setLong(9, tenant.organizationId());
+            ps.setBoolean(10, verifiedUsers.get(Math.toIntExact(id - tenant.firstUserId())));
+            ps.setTimestamp(11, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(12, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(13, random.nextInt(100) < 70
+                    ? Timestamp.valueOf(now.minusMinutes(random.nextLong(30 * 24 * 60)))
+                    : null);
+        });
+
+        // Invitations of the last 90 days that expire after 24 hours, so many PENDING ones are overdue
+        Organization organization = Organization.builder().id(tenant.organizationId()).build();
+        insertInChunks(INSERT_INVITATION, tenant.firstInvitationId(), tenant.invitationCount(), (ps, id) -> {
+            InvitationStatus status = pickInvitationStatus(random);
+            LocalDateTime createdAt = now.minusMinutes(random.nextLong(90 * 24 * 60));
+            ps.setLong(1, id);
+            ps.setString(2, "invitee" + id + "@example.com");
+            ps.setString(3, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            ps.setString(4, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            ps.setString(5, random.nextInt(100) < 5 ? UserRole.UNPAID_ADMIN.name() : UserRole.MEMBER.name());
+            ps.setLong(6, tenant.organizationId());
+            ps.setLong(7, tenant.firstUserId());
+            // Signed like the service's tokens, so generated invitations can be opened and accepted
+            ps.setString(8, invitationTokenService.issue(Invitation.builder()
+                    .id(id)
+                    .organization(organization)
+                    .expiresAt(createdAt.plusHours(24))
+                    .build()));
+            ps.setString(9, status.name());
+            ps.setTimestamp(10, Timestamp.valueOf(createdAt.plusHours(24)));
+            ps.setTimestamp(11, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(12, status == InvitationStatus.ACCEPTED
+                    ? Timestamp.valueOf(createdAt.plusMinutes(random.nextInt(24 * 60)))
+                    : null);
+        });
+
+        // Verifications of the last year, spread over the tenant's users
+        insertInChunks(INSERT_VERIFICATION, tenant.firstVerificationId(), tenant.verificationCount(), (ps, id) -> {
+            int index = Math.toIntExact(id - tenant.firstVerificationId());
+            AadhaarVerificationStatus status = verificationStatuses[index];
+            LocalDateTime createdAt = now.minusMinutes(random.nextLong(365 * 24 * 60));
+            ps.setLong(1, id);
+            ps.setString(2, "ver-" + id);
+            ps.setString(3, String.format("XXXXXXXX%04d", random.nextInt(10000)));
+            ps.setString(4, hex(random));
+            ps.setString(5, hex(random));
+            ps.setLong(6, verificationUsers[index]);
+            ps.setString(7, status.name());
+            ps.setString(8, random.nextBoolean() ? "OTP" : "DEMO");
+            ps.setString(9, "TXN-" + id);
+            ps.setString(10, status == AadhaarVerificationStatus.FAILED ? "VERIFICATION_FAILED" : null);
+            ps.setTimestamp(11, status == AadhaarVerificationStatus.SUCCESS
+                    ? Timestamp.valueOf(createdAt.plusSeconds(random.nextInt(5, 120)))
+                    : null);
+            ps.setTimestamp(12, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(13, Timestamp.valueOf(createdAt));
+        });
+    }
+
+    private void insertInChunks(String sql, long firstId, long count, RowWriter writer) {
+        for (long offset = 0; offset < count; offset += batchSize) {
+            List<Long> ids = new ArrayList<>(batchSize);
+            for (long id = firstId + offset; id < firstId + Math.min(offset + batchSize, count); id++) {
+                ids.add(id);
+            }
+            // One commit per chunk
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(sql, ids, ids.size(), writer::write));
+            rowsWritten.addAndGet(ids.size());
+        }
+    }
+
+    /**
+     * Identity columns continue after the generated ids, so the application can insert again
+     */
+    private void resetIdentities() {
+        for (String table : List.of("organizations", "users", "invitations", "aadhaar_verifications")) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+        }
+    }
+
+    /**
+     * Log the plans of the queries behind the known hot paths, against the largest tenant
+     */
+    private void explainHotQueries(Tenant largest) {
+        long organizationId = largest.organizationId();
+        long userId = largest.firstUserId();
+        List<String> queries = List.of(
+                "SELECT * FROM users WHERE organization_id = " + organizationId,
+                "SELECT COUNT(*) FROM users WHERE organization_id = " + organizationId
+                        + " AND role IN ('ADMIN', 'UNPAID_ADMIN')",
+                "SELECT * FROM invitations WHERE status = 'PENDING' AND expires_at < CURRENT_TIMESTAMP",
+                "SELECT * FROM invitations WHERE organization_id = " + organizationId + " AND status = 'PENDING'",
+                "SELECT * FROM aadhaar_verifications WHERE user_id = " + userId
+                        + " ORDER BY created_at DESC, id DESC LIMIT 20");
+        for (String query : queries) {
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+            log.info("Plan for {}:\n{}", query, plan);
+        }
+    }
+
+    private static UserRole pickRole(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 2 ? UserRole.ADMIN : roll < 5 ? UserRole.UNPAID_ADMIN : UserRole.MEMBER;
+    }
+
+    private static UserStatus pickUserStatus(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 88 ? UserStatus.ACTIVE : roll < 96 ? UserStatus.INACTIVE : roll < 98 ? UserStatus.LOCKED
+                : UserStatus.PENDING_INVITATION;
+    }
+
+    private static InvitationStatus pickInvitationStatus(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 20 ? InvitationStatus.PENDING : roll < 80 ? InvitationStatus.ACCEPTED
+                : roll < 95 ? InvitationStatus.EXPIRED : InvitationStatus.CANCELLED;
+    }
+
+    private static AadhaarVerificationStatus pickVerificationStatus(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 70 ? AadhaarVerificationStatus.SUCCESS : roll < 90 ? AadhaarVerificationStatus.FAILED
+                : roll < 95 ? AadhaarVerificationStatus.PENDING : roll < 97 ? AadhaarVerificationStatus.IN_PROGRESS
+                : AadhaarVerificationStatus.EXPIRED;
+    }
+
+    private static String hex(SplittableRandom random) {
+        return String.format("%016x%016x%016x%016x",
+                random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong());
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, Long id) throws SQLException;
+    }
+
+    private record Tenant(long organizationId, long firstUserId, long userCount,
+                          long firstInvitationId, long invitationCount,
+                          long firstVerificationId, long verificationCount) {
+    }
+}
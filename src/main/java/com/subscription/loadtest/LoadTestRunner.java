@@ -0,0 +1,371 @@
+package com.subscription.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.subscription.model.Organization;
+import com.subscription.model.User;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import com.subscription.repository.OrganizationRepository;
+import com.subscription.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives an open-model load test against the running application. Requests are started at a
+ * constant arrival rate whether or not earlier ones have finished. Latency is measured from
+ * the time a request was due, so a stalled server shows up as latency, not as a lower request
+ * rate. Every request has a timeout and the run waits for all of them, so a request that
+ * never returns is counted as an error at its full latency rather than dropped. The results
+ * are written as JSON, and each operation's p99 and error rate are checked against an
+ * optional baseline report.
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestRunner {
+
+    private static final String REPORT_FILE = "loadtest-report.json";
+
+    private final OrganizationRepository organizationRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final FakeSmtpServer fakeSmtpServer;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${loadtest.arrival-rate:100}")
+    private double arrivalRate;
+
+    @Value("${loadtest.warmup-seconds:10}")
+    private long warmupSeconds;
+
+    @Value("${loadtest.duration-seconds:60}")
+    private long durationSeconds;
+
+    @Value("${loadtest.request-timeout-seconds:30}")
+    private long requestTimeoutSeconds;
+
+    // operation:weight pairs
+    @Value("${loadtest.mix:list-users:50,pending-invitations:15,invite:10,aadhaar-otp:25}")
+    private String mix;
+
+    @Value("${loadtest.report-dir:target/loadtest}")
+    private String reportDir;
+
+    @Value("${loadtest.baseline-file:}")
+    private String baselineFile;
+
+    @Value("${loadtest.max-p99-regression-percent:20}")
+    private double maxP99RegressionPercent;
+
+    @Value("${loadtest.max-error-rate-increase:0.01}")
+    private double maxErrorRateIncrease;
+
+    @Value("${loadtest.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<CompletableFuture<Boolean>> outstanding = ConcurrentHashMap.newKeySet();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(32))
+            .build();
+
+    private Long organizationId;
+    private volatile long measureFromNanos;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread driver = new Thread(this::runAndReport, "loadtest-driver");
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    private void runAndReport() {
+        int exitCode;
+        try {
+            seed();
+            run();
+            exitCode = report();
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+            exitCode = 2;
+        }
+        if (exitOnFinish) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> code));
+        }
+    }
+
+    /**
+     * The controllers act as user 1 of organization 1 until authentication is wired in
+     */
+    private void seed() {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .name("Load Test Org")
+                .build());
+        organizationId = organization.getId();
+        userRepository.save(User.builder()
+                .username("loadtest-admin")
+                .email("loadtest-admin@example.com")
+                .password(passwordEncoder.encode("loadtest"))
+                .firstName("Load")
+                .lastName("Admin")
+                .role(UserRole.ADMIN)
+                .status(UserStatus.ACTIVE)
+                .organization(organization)
+                .build());
+    }
+
+    private void run() throws InterruptedException {
+        List<String> operations = new ArrayList<>();
+        List<Integer> cumulativeWeights = new ArrayList<>();
+        int totalWeight = 0;
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            totalWeight += Integer.parseInt(parts[1]);
+            operations.add(parts[0]);
+            cumulativeWeights.add(totalWeight);
+        }
+        int weightSum = totalWeight;
+
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / arrivalRate);
+        long startNanos = System.nanoTime();
+        measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        AtomicLong ticks = new AtomicLong();
+
+        log.info("Load test: {} req/s for {}s after {}s warm-up, mix {}", arrivalRate, durationSeconds, warmupSeconds, mix);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleAtFixedRate(() -> {
+            long dueNanos = startNanos + ticks.getAndIncrement() * periodNanos;
+            int pick = ThreadLocalRandom.current().nextInt(weightSum);
+            int index = 0;
+            while (cumulativeWeights.get(index) <= pick) {
+                index++;
+            }
+            dispatch(operations.get(index), dueNanos);
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        TimeUnit.SECONDS.sleep(warmupSeconds + durationSeconds);
+        scheduler.shutdown();
+        scheduler.awaitTermination(requestTimeoutSeconds, TimeUnit.SECONDS);
+
+        // Every request ends within its timeout, so this wait is bounded
+        log.info("Waiting for {} outstanding requests", outstanding.size());
+        CompletableFuture.allOf(outstanding.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void dispatch(String operation, long dueNanos) {
+        long n = sequence.incrementAndGet();
+        CompletableFuture<Boolean> request = switch (operation) {
+            case "list-users" -> send("list-users", dueNanos,
+                    get("/api/users?organizationId=" + organizationId));
+            case "pending-invitations" -> send("pending-invitations", dueNanos,
+                    get("/api/invitations/pending?organizationId=" + organizationId));
+            case "invite" -> send("invite", dueNanos, post("/api/invitations/invite?organizationId=" + organizationId, Map.of(
+                    "email", "load-" + n + "@example.com",
+                    "firstName", "Load",
+                    "lastName", "User" + n,
+                    "role", "MEMBER")));
+            case "aadhaar-otp" -> {
+                String aadhaarNumber = String.format("9%011d", n);
+                String transactionId = "LOADTEST-" + n;
+                yield send("generate-otp", dueNanos, post("/api/aadhaar/generate-otp", Map.of(
+                        "aadhaarNumber", aadhaarNumber,
+                        "transactionId", transactionId)))
+                        .thenCompose(ok -> ok
+                                ? send("verify-otp", System.nanoTime(), post("/api/aadhaar/verify-otp", Map.of(
+                                        "aadhaarNumber", aadhaarNumber,
+                                        "transactionId", transactionId,
+                                        "otp", "123456")))
+                                : CompletableFuture.completedFuture(false));
+            }
+            default -> throw new IllegalArgumentException("Unknown load test operation: " + operation);
+        };
+        outstanding.add(request);
+        request.whenComplete((ok, error) -> outstanding.remove(request));
+    }
+
+    /**
+     * Send a request and record it; completes with whether it succeeded
+     */
+    private CompletableFuture<Boolean> send(String operation, long dueNanos, HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    boolean success = error == null && response.statusCode() < 400;
+                    if (dueNanos >= measureFromNanos) {
+                        stats.computeIfAbsent(operation, name -> new OperationStats())
+                                .record(System.nanoTime() - dueNanos, success, isTimeout(error));
+                    }
+                    return success;
+                });
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpTimeoutException;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(requestTimeout()).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .timeout(requestTimeout())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Duration requestTimeout() {
+        return Duration.ofSeconds(requestTimeoutSeconds);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + serverPort + path);
+    }
+
+    /**
+     * Write the report; returns 1 if it regressed against the baseline, otherwise 0
+     */
+    private int report() throws IOException {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("arrivalRate", arrivalRate);
+        report.put("durationSeconds", durationSeconds);
+        report.put("mix", mix);
+        report.put("smtpMessages", fakeSmtpServer.getMessagesReceived());
+        ObjectNode operations = report.putObject("operations");
+        new LinkedHashMap<>(stats).forEach((name, operation) ->
+                operations.set(name, operation.toJson(objectMapper, durationSeconds)));
+
+        ArrayNode regressions = report.putArray("regressions");
+        if (!baselineFile.isBlank()) {
+            compareWithBaseline(objectMapper.readTree(Path.of(baselineFile).toFile()), operations, regressions);
+        }
+
+        Path directory = Path.of(reportDir);
+        Files.createDirectories(directory);
+        Path reportPath = directory.resolve(REPORT_FILE);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), report);
+        log.info("Load test report written to {}", reportPath.toAbsolutePath());
+
+        regressions.forEach(regression -> log.warn("Regression: {}", regression.asText()));
+        return regressions.isEmpty() ? 0 : 1;
+    }
+
+    private void compareWithBaseline(JsonNode baseline, ObjectNode current, ArrayNode regressions) {
+        baseline.path("operations").fields().forEachRemaining(entry -> {
+            String name = entry.getKey();
+            JsonNode before = entry.getValue();
+            JsonNode after = current.get(name);
+            if (after == null) {
+                regressions.add(name + ": missing from this run");
+                return;
+            }
+            double p99Before = before.path("latencyMs").path("p99").asDouble();
+            double p99After = after.path("latencyMs").path("p99").asDouble();
+            if (p99Before > 0 && p99After > p99Before * (1 + maxP99RegressionPercent / 100)) {
+                regressions.add(String.format("%s: p99 %.1f ms -> %.1f ms", name, p99Before, p99After));
+            }
+            double errorsBefore = before.path("errorRate").asDouble();
+            double errorsAfter = after.path("errorRate").asDouble();
+            if (errorsAfter > errorsBefore + maxErrorRateIncrease) {
+                regressions.add(String.format("%s: error rate %.4f -> %.4f", name, errorsBefore, errorsAfter));
+            }
+        });
+    }
+
+    private static final class OperationStats {
+
+        private final ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+
+        void record(long latencyNanos, boolean success, boolean timedOut) {
+            latenciesNanos.add(latencyNanos);
+            if (!success) {
+                errors.incrementAndGet();
+            }
+            if (timedOut) {
+                timeouts.incrementAndGet();
+            }
+        }
+
+        ObjectNode toJson(ObjectMapper objectMapper, long durationSeconds) {
+            long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            int count = sorted.length;
+
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("count", count);
+            node.put("errors", errors.get());
+            node.put("timeouts", timeouts.get());
+            node.put("errorRate", count == 0 ? 0 : (double) errors.get() / count);
+            node.put("throughputPerSecond", (double) count / durationSeconds);
+            ObjectNode latency = node.putObject("latencyMs");
+            latency.put("p50", percentileMs(sorted, 0.50));
+            latency.put("p90", percentileMs(sorted, 0.90));
+            latency.put("p95", percentileMs(sorted, 0.95));
+            latency.put("p99", percentileMs(sorted, 0.99));
+            latency.put("p999", percentileMs(sorted, 0.999));
+            latency.put("max", count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+            return node;
+        }
+
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.subscription.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * The load generator calls the API without credentials.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestSecurityConfig {
+
+    @Bean
+    public SecurityFilterChain loadTestSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(requests -> requests.anyRequest().permitAll());
+        return http.build();
+    }
+}
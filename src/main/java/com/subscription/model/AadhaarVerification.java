@@ -9,7 +9,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "aadhaar_verifications")
+@Table(name = "aadhaar_verifications",
+       indexes = {
+           @Index(name = "idx_aadhaar_verifications_hash", columnList = "aadhaar_hash, status, verified_at"),
+           @Index(name = "idx_aadhaar_verifications_user_created", columnList = "user_id, created_at"),
+           @Index(name = "idx_aadhaar_verifications_status_updated", columnList = "status, updated_at")
+       })
 @Data
 @Builder
 @NoArgsConstructor
@@ -26,6 +31,13 @@ public class AadhaarVerification {
     @Column(name = "aadhaar_number")
     private String aadhaarNumber;
     
+    // Salted hashes; the raw Aadhaar number is never stored
+    @Column(name = "aadhaar_hash", length = 64)
+    private String aadhaarHash;
+    
+    @Column(name = "demographics_hash", length = 64)
+    private String demographicsHash;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -36,7 +48,7 @@ public class AadhaarVerification {
     @Column(name = "verification_method")
     private String verificationMethod; // OTP, Biometric, etc.
     
-    @Column(name = "transaction_id")
+    @Column(name = "transaction_id", unique = true)
     private String transactionId;
     
     @Column(name = "name_match")
@@ -66,6 +78,10 @@ public class AadhaarVerification {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic lock guarding status transitions
+    @Version
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
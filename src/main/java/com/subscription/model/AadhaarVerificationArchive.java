@@ -0,0 +1,56 @@
+package com.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact copy of a terminal AadhaarVerification moved out of the hot table by retention.
+ * Keeps the original id and only the columns needed for history and audit.
+ */
+@Entity
+@Table(name = "aadhaar_verification_archive",
+       indexes = {
+           @Index(name = "idx_aadhaar_archive_user", columnList = "user_id, created_at"),
+           @Index(name = "idx_aadhaar_archive_verification_id", columnList = "verification_id")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AadhaarVerificationArchive {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "verification_id")
+    private String verificationId;
+    
+    @Column(name = "aadhaar_number")
+    private String aadhaarNumber;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    private AadhaarVerificationStatus status;
+    
+    @Column(name = "verification_method")
+    private String verificationMethod;
+    
+    @Column(name = "error_code")
+    private String errorCode;
+    
+    @Column(name = "verified_at")
+    private LocalDateTime verifiedAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,81 @@
+package com.subscription.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the aadhaar_verifications table used by the reactive profile.
+ * The user association is kept as a plain foreign key column.
+ */
+@Table("aadhaar_verifications")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AadhaarVerificationRecord {
+
+    @Id
+    private Long id;
+
+    @Column("verification_id")
+    private String verificationId;
+
+    @Column("aadhaar_number")
+    private String aadhaarNumber;
+
+    @Column("aadhaar_hash")
+    private String aadhaarHash;
+
+    @Column("demographics_hash")
+    private String demographicsHash;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Column("status")
+    private AadhaarVerificationStatus status;
+
+    @Column("verification_method")
+    private String verificationMethod;
+
+    @Column("transaction_id")
+    private String transactionId;
+
+    @Column("name_match")
+    private String nameMatch;
+
+    @Column("dob_match")
+    private String dobMatch;
+
+    @Column("face_score")
+    private String faceScore;
+
+    @Column("address_match")
+    private String addressMatch;
+
+    @Column("error_message")
+    private String errorMessage;
+
+    @Column("error_code")
+    private String errorCode;
+
+    @Column("verified_at")
+    private LocalDateTime verifiedAt;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,7 @@
+package com.subscription.model;
+
+public enum DomainAggregateType {
+    USER,
+    INVITATION,
+    AADHAAR_VERIFICATION
+}
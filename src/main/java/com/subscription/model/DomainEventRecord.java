@@ -0,0 +1,58 @@
+package com.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One state transition of a user, invitation or Aadhaar verification. Rows are only ever
+ * appended; the id is the log sequence. A null from_state marks creation, a null to_state
+ * removal. Roles are filled in for users and invitations only.
+ */
+@Entity
+@Table(name = "domain_events", indexes = {
+        @Index(name = "idx_domain_events_aggregate", columnList = "aggregate_type, aggregate_id"),
+        @Index(name = "idx_domain_events_org", columnList = "organization_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DomainEventRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false, length = 30)
+    private DomainAggregateType aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "from_state", length = 30)
+    private String fromState;
+
+    @Column(name = "to_state", length = 30)
+    private String toState;
+
+    @Column(name = "from_role", length = 30)
+    private String fromRole;
+
+    @Column(name = "to_role", length = 30)
+    private String toRole;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,54 @@
+package com.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    // Scope (endpoint) and client key joined, e.g. "generate-otp:3f2c..."
+    @Id
+    @Column(name = "idempotency_key", length = 300)
+    private String key;
+
+    // Salted hash of the request, never the request itself
+    @Column(name = "request_fingerprint", length = 64)
+    private String requestFingerprint;
+
+    // IN_PROGRESS reserves the key while the first request runs
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private IdempotencyStatus status;
+
+    @Column(name = "http_status")
+    private int httpStatus;
+
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(expiresAt);
+    }
+}
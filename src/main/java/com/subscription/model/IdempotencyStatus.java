@@ -0,0 +1,6 @@
+package com.subscription.model;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
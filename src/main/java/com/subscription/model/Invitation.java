@@ -9,7 +9,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity
 @Table(name = "invitations")
@@ -44,6 +43,7 @@ public class Invitation {
     @JoinColumn(name = "invited_by")
     private User invitedBy;
     
+    // Signed by InvitationTokenService once the id is known, in the transaction that inserts the row
     @Column(unique = true)
     private String token;
     
@@ -59,9 +59,6 @@ public class Invitation {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
-        if (token == null) {
-            token = UUID.randomUUID().toString();
-        }
         if (status == null) {
             status = InvitationStatus.PENDING;
         }
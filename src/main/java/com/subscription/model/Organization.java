@@ -32,6 +32,10 @@ public class Organization {
     @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<User> users = new ArrayList<>();
     
+    // Bumped on every membership or invitation change; basis of ETags for org listings
+    @Column(name = "data_version")
+    private Long dataVersion;
+    
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
@@ -40,6 +44,9 @@ public class Organization {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        if (dataVersion == null) {
+            dataVersion = 0L;
+        }
     }
     
     @PreUpdate
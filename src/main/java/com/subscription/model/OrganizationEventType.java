@@ -0,0 +1,12 @@
+package com.subscription.model;
+
+public enum OrganizationEventType {
+    USER_CREATED,
+    USER_REMOVED,
+    USER_ROLE_CHANGED,
+    USER_STATUS_CHANGED,
+    INVITATION_CREATED,
+    INVITATION_CANCELLED,
+    INVITATION_ACCEPTED,
+    INVITATION_EXPIRED
+}
@@ -0,0 +1,44 @@
+package com.subscription.repository;
+
+import com.subscription.model.AadhaarVerificationArchive;
+import com.subscription.model.AadhaarVerificationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AadhaarVerificationArchiveRepository extends JpaRepository<AadhaarVerificationArchive, Long> {
+    
+    Optional<AadhaarVerificationArchive> findByVerificationId(String verificationId);
+    
+    @Query("SELECT a FROM AadhaarVerificationArchive a WHERE a.userId = :userId " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AadhaarVerificationArchive> findHistoryPage(@Param("userId") Long userId,
+                                                     @Param("createdAt") LocalDateTime cursorCreatedAt,
+                                                     @Param("id") Long cursorId,
+                                                     Pageable pageable);
+    
+    @Query("SELECT a FROM AadhaarVerificationArchive a WHERE a.userId = :userId AND a.status = :status " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AadhaarVerificationArchive> findHistoryPageByStatus(@Param("userId") Long userId,
+                                                             @Param("status") AadhaarVerificationStatus status,
+                                                             @Param("createdAt") LocalDateTime cursorCreatedAt,
+                                                             @Param("id") Long cursorId,
+                                                             Pageable pageable);
+    
+    @Modifying
+    @Query(value = "INSERT INTO aadhaar_verification_archive " +
+            "(id, verification_id, aadhaar_number, user_id, status, verification_method, error_code, verified_at, created_at, archived_at) " +
+            "SELECT id, verification_id, aadhaar_number, user_id, status, verification_method, error_code, verified_at, created_at, :archivedAt " +
+            "FROM aadhaar_verifications WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromHotTable(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
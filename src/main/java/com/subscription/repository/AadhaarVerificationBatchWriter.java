@@ -0,0 +1,55 @@
+package com.subscription.repository;
+
+import com.subscription.model.AadhaarVerification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts AadhaarVerification rows with JDBC batching. Hibernate cannot batch inserts for
+ * IDENTITY ids, so bulk paths write through here instead of the JPA repository.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AadhaarVerificationBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO aadhaar_verifications " +
+            "(verification_id, aadhaar_number, aadhaar_hash, demographics_hash, user_id, status, verification_method, " +
+            "transaction_id, name_match, dob_match, error_message, error_code, verified_at, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<AadhaarVerification> verifications) {
+        if (verifications.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, verifications, verifications.size(), (ps, v) -> {
+            ps.setString(1, v.getVerificationId());
+            ps.setString(2, v.getAadhaarNumber());
+            ps.setString(3, v.getAadhaarHash());
+            ps.setString(4, v.getDemographicsHash());
+            if (v.getUser() != null && v.getUser().getId() != null) {
+                ps.setLong(5, v.getUser().getId());
+            } else {
+                ps.setNull(5, Types.BIGINT);
+            }
+            ps.setString(6, v.getStatus().name());
+            ps.setString(7, v.getVerificationMethod());
+            ps.setString(8, v.getTransactionId());
+            ps.setString(9, v.getNameMatch());
+            ps.setString(10, v.getDobMatch());
+            ps.setString(11, v.getErrorMessage());
+            ps.setString(12, v.getErrorCode());
+            ps.setTimestamp(13, v.getVerifiedAt() != null ? Timestamp.valueOf(v.getVerifiedAt()) : null);
+            ps.setTimestamp(14, Timestamp.valueOf(now));
+            ps.setTimestamp(15, Timestamp.valueOf(now));
+        });
+    }
+}
@@ -1,13 +1,17 @@
 package com.subscription.repository;
 
+import com.subscription.dto.AadhaarVerificationSummary;
 import com.subscription.model.AadhaarVerification;
 import com.subscription.model.AadhaarVerificationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,7 +26,29 @@ public interface AadhaarVerificationRepository extends JpaRepository<AadhaarVeri
     
     List<AadhaarVerification> findByUserIdAndStatus(Long userId, AadhaarVerificationStatus status);
     
-    Optional<AadhaarVerification> findByAadhaarNumberAndStatus(String aadhaarNumber, AadhaarVerificationStatus status);
+    @Query("SELECT new com.subscription.dto.AadhaarVerificationSummary(av.id, av.verificationId, av.aadhaarNumber, av.status, " +
+           "av.verificationMethod, av.nameMatch, av.dobMatch, av.faceScore, av.addressMatch, av.errorMessage, av.errorCode, " +
+           "av.verifiedAt, av.createdAt) FROM AadhaarVerification av WHERE av.user.id = :userId " +
+           "AND (av.createdAt < :createdAt OR (av.createdAt = :createdAt AND av.id < :id)) " +
+           "ORDER BY av.createdAt DESC, av.id DESC")
+    List<AadhaarVerificationSummary> findHistoryPage(@Param("userId") Long userId,
+                                                     @Param("createdAt") LocalDateTime cursorCreatedAt,
+                                                     @Param("id") Long cursorId,
+                                                     Pageable pageable);
+    
+    @Query("SELECT new com.subscription.dto.AadhaarVerificationSummary(av.id, av.verificationId, av.aadhaarNumber, av.status, " +
+           "av.verificationMethod, av.nameMatch, av.dobMatch, av.faceScore, av.addressMatch, av.errorMessage, av.errorCode, " +
+           "av.verifiedAt, av.createdAt) FROM AadhaarVerification av WHERE av.user.id = :userId AND av.status = :status " +
+           "AND (av.createdAt < :createdAt OR (av.createdAt = :createdAt AND av.id < :id)) " +
+           "ORDER BY av.createdAt DESC, av.id DESC")
+    List<AadhaarVerificationSummary> findHistoryPageByStatus(@Param("userId") Long userId,
+                                                             @Param("status") AadhaarVerificationStatus status,
+                                                             @Param("createdAt") LocalDateTime cursorCreatedAt,
+                                                             @Param("id") Long cursorId,
+                                                             Pageable pageable);
+    
+    Optional<AadhaarVerification> findFirstByAadhaarHashAndStatusAndVerifiedAtAfterOrderByVerifiedAtDesc(
+            String aadhaarHash, AadhaarVerificationStatus status, LocalDateTime verifiedAfter);
     
     Optional<AadhaarVerification> findByTransactionId(String transactionId);
     
@@ -30,6 +56,29 @@ public interface AadhaarVerificationRepository extends JpaRepository<AadhaarVeri
     List<AadhaarVerification> findExpiredVerifications(@Param("cutoffTime") LocalDateTime cutoffTime, 
                                                        @Param("status") AadhaarVerificationStatus status);
     
+    @Query("SELECT av.id FROM AadhaarVerification av WHERE av.status IN :statuses AND av.updatedAt < :cutoffTime ORDER BY av.id")
+    List<Long> findIdsByStatusInAndUpdatedAtBefore(@Param("statuses") Collection<AadhaarVerificationStatus> statuses,
+                                                   @Param("cutoffTime") LocalDateTime cutoffTime,
+                                                   Pageable pageable);
+    
+    @Query("SELECT av.id FROM AadhaarVerification av WHERE av.status IN :statuses AND av.createdAt < :cutoffTime ORDER BY av.id")
+    List<Long> findIdsByStatusInAndCreatedAtBefore(@Param("statuses") Collection<AadhaarVerificationStatus> statuses,
+                                                   @Param("cutoffTime") LocalDateTime cutoffTime,
+                                                   Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE AadhaarVerification av SET av.status = :status, av.updatedAt = :now, av.version = av.version + 1 " +
+           "WHERE av.id IN :ids AND av.status IN :fromStatuses AND av.updatedAt < :cutoffTime")
+    int updateStatusByIds(@Param("ids") List<Long> ids,
+                          @Param("fromStatuses") Collection<AadhaarVerificationStatus> fromStatuses,
+                          @Param("cutoffTime") LocalDateTime cutoffTime,
+                          @Param("status") AadhaarVerificationStatus status,
+                          @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM AadhaarVerification av WHERE av.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+    
     @Query("SELECT COUNT(av) FROM AadhaarVerification av WHERE av.user.id = :userId AND av.status = 'SUCCESS'")
     long countSuccessfulVerificationsByUserId(@Param("userId") Long userId);
 } 
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.subscription.repository;
+
+import com.subscription.model.DomainEventRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DomainEventRepository extends JpaRepository<DomainEventRecord, Long> {
+    
+    List<DomainEventRecord> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // Logs the expiry of still-open verifications; run in the same transaction, before the bulk update
+    @Modifying
+    @Query(value = "INSERT INTO domain_events " +
+            "(aggregate_type, aggregate_id, organization_id, event_type, from_state, to_state, occurred_at) " +
+            "SELECT 'AADHAAR_VERIFICATION', v.verification_id, u.organization_id, 'VERIFICATION_STATUS_CHANGED', " +
+            "v.status, 'EXPIRED', :occurredAt " +
+            "FROM aadhaar_verifications v LEFT JOIN users u ON u.id = v.user_id " +
+            "WHERE v.id IN (:ids) AND v.status IN (:statuses) AND v.updated_at < :cutoffTime", nativeQuery = true)
+    int appendVerificationExpiries(@Param("ids") List<Long> ids,
+                                   @Param("statuses") Collection<String> statuses,
+                                   @Param("cutoffTime") LocalDateTime cutoffTime,
+                                   @Param("occurredAt") LocalDateTime occurredAt);
+}
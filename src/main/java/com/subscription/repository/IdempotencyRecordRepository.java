@@ -0,0 +1,47 @@
+package com.subscription.repository;
+
+import com.subscription.model.IdempotencyRecord;
+import com.subscription.model.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Reserves a key; returns 0 when the key is already taken
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys " +
+            "(idempotency_key, request_fingerprint, status, http_status, created_at, expires_at) " +
+            "SELECT :key, :fingerprint, 'IN_PROGRESS', 0, :now, :expiresAt " +
+            "WHERE NOT EXISTS (SELECT 1 FROM idempotency_keys WHERE idempotency_key = :key)", nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key,
+                       @Param("fingerprint") String fingerprint,
+                       @Param("now") LocalDateTime now,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.status = :status")
+    int deleteByKeyAndStatus(@Param("key") String key, @Param("status") IdempotencyStatus status);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.httpStatus = :httpStatus, " +
+           "r.responseBody = :responseBody, r.expiresAt = :expiresAt WHERE r.key = :key")
+    int complete(@Param("key") String key,
+                 @Param("status") IdempotencyStatus status,
+                 @Param("httpStatus") int httpStatus,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,7 +2,9 @@ package com.subscription.repository;
 
 import com.subscription.model.Invitation;
 import com.subscription.model.InvitationStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,11 +22,25 @@ public interface InvitationRepository extends JpaRepository<Invitation, Long> {
     
     List<Invitation> findByOrganizationId(Long organizationId);
     
+    // Listings read the organization and inviter of every invitation; load them in the same query
+    @EntityGraph(attributePaths = {"organization", "invitedBy"})
     List<Invitation> findByOrganizationIdAndStatus(Long organizationId, InvitationStatus status);
     
     @Query("SELECT i FROM Invitation i WHERE i.organization.id = :organizationId AND i.status = 'PENDING' AND i.expiresAt > :now")
     List<Invitation> findValidInvitationsByOrganizationId(@Param("organizationId") Long organizationId, @Param("now") LocalDateTime now);
     
-    @Query("SELECT i FROM Invitation i WHERE i.status = 'PENDING' AND i.expiresAt < :now")
-    List<Invitation> findExpiredInvitations(@Param("now") LocalDateTime now);
+    // Pending invitations past their expiry, or whose token is not a signed one and can no longer be accepted
+    @Query("SELECT i FROM Invitation i WHERE i.status = 'PENDING' " +
+           "AND (i.expiresAt < :now OR i.token IS NULL OR LENGTH(i.token) <> :signedTokenLength)")
+    List<Invitation> findExpiredInvitations(@Param("now") LocalDateTime now,
+                                            @Param("signedTokenLength") int signedTokenLength);
+    
+    /**
+     * Mark an invitation accepted if it is still pending and unexpired; returns 0 when another
+     * request claimed it first or it is no longer valid
+     */
+    @Modifying
+    @Query("UPDATE Invitation i SET i.status = 'ACCEPTED', i.acceptedAt = :now " +
+           "WHERE i.id = :id AND i.status = 'PENDING' AND i.expiresAt > :now")
+    int claimPending(@Param("id") Long id, @Param("now") LocalDateTime now);
 } 
\ No newline at end of file
@@ -2,8 +2,12 @@ package com.subscription.repository;
 
 import com.subscription.model.Organization;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,16 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     Optional<Organization> findByName(String name);
     
     boolean existsByName(String name);
+    
+    @Query("SELECT o.dataVersion FROM Organization o WHERE o.id = :organizationId")
+    Optional<Long> findDataVersionById(@Param("organizationId") Long organizationId);
+    
+    @Modifying
+    @Query("UPDATE Organization o SET o.dataVersion = COALESCE(o.dataVersion, 0) + 1 WHERE o.id = :organizationId")
+    int incrementDataVersion(@Param("organizationId") Long organizationId);
+    
+    @Modifying
+    @Query("UPDATE Organization o SET o.dataVersion = COALESCE(o.dataVersion, 0) + 1 " +
+           "WHERE o.id IN (SELECT u.organization.id FROM User u WHERE u.id IN :userIds)")
+    int incrementDataVersionOfUsers(@Param("userIds") Collection<Long> userIds);
 } 
\ No newline at end of file
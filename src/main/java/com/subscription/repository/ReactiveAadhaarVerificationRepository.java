@@ -0,0 +1,17 @@
+package com.subscription.repository;
+
+import com.subscription.model.AadhaarVerificationRecord;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveAadhaarVerificationRepository extends ReactiveCrudRepository<AadhaarVerificationRecord, Long> {
+
+    Mono<AadhaarVerificationRecord> findByVerificationId(String verificationId);
+
+    Mono<AadhaarVerificationRecord> findByTransactionId(String transactionId);
+
+    Flux<AadhaarVerificationRecord> findByUserId(Long userId);
+}
@@ -0,0 +1,84 @@
+package com.subscription.repository;
+
+import com.subscription.dto.AadhaarVerificationResponse;
+import com.subscription.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes User rows with JDBC batching: inserts for bulk provisioning, where passwords must
+ * already be encoded, last-login updates from {@code UserActivityRecorder} and the Aadhaar
+ * verification of users verified in a batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO users " +
+            "(username, email, password, first_name, last_name, role, status, organization_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Leaves updated_at alone and never moves last_login_at backwards
+    private static final String UPDATE_LAST_LOGIN_SQL = "UPDATE users SET last_login_at = ? " +
+            "WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    // Same columns as UserRepository.markAadhaarVerified
+    private static final String MARK_AADHAAR_VERIFIED_SQL = "UPDATE users SET aadhaar_number = ?, aadhaar_verified = TRUE, " +
+            "aadhaar_verification_id = ?, aadhaar_verified_at = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, users, users.size(), (ps, u) -> {
+            ps.setString(1, u.getUsername());
+            ps.setString(2, u.getEmail());
+            ps.setString(3, u.getPassword());
+            ps.setString(4, u.getFirstName());
+            ps.setString(5, u.getLastName());
+            ps.setString(6, u.getRole().name());
+            ps.setString(7, u.getStatus().name());
+            ps.setLong(8, u.getOrganization().getId());
+            ps.setTimestamp(9, Timestamp.valueOf(now));
+            ps.setTimestamp(10, Timestamp.valueOf(now));
+        });
+    }
+
+    public void updateLastLoginAt(List<Map.Entry<Long, LocalDateTime>> logins) {
+        if (logins.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, logins, logins.size(), (ps, login) -> {
+            Timestamp lastLoginAt = Timestamp.valueOf(login.getValue());
+            ps.setTimestamp(1, lastLoginAt);
+            ps.setLong(2, login.getKey());
+            ps.setTimestamp(3, lastLoginAt);
+        });
+    }
+
+    /**
+     * Record successful verifications, keyed by user id, on the user rows
+     */
+    public void markAadhaarVerified(List<Map.Entry<Long, AadhaarVerificationResponse>> verifications) {
+        if (verifications.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(MARK_AADHAAR_VERIFIED_SQL, verifications, verifications.size(), (ps, verified) -> {
+            Timestamp verifiedAt = Timestamp.valueOf(verified.getValue().getVerifiedAt());
+            ps.setString(1, verified.getValue().getAadhaarNumber());
+            ps.setString(2, verified.getValue().getVerificationId());
+            ps.setTimestamp(3, verifiedAt);
+            ps.setTimestamp(4, verifiedAt);
+            ps.setLong(5, verified.getKey());
+        });
+    }
+}
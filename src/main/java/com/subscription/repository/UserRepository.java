@@ -3,11 +3,15 @@ package com.subscription.repository;
 import com.subscription.model.User;
 import com.subscription.model.UserRole;
 import com.subscription.model.UserStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +24,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmailAndOrganizationId(String email, Long organizationId);
     
+    @EntityGraph(attributePaths = "organization")
     List<User> findByOrganizationId(Long organizationId);
     
     List<User> findByOrganizationIdAndRoleIn(Long organizationId, List<UserRole> roles);
@@ -32,5 +37,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     boolean existsByEmailAndOrganizationId(String email, Long organizationId);
     
+    List<UserIdentity> findByEmailInOrUsernameIn(Collection<String> emails, Collection<String> usernames);
+    
+    List<UserIdentity> findByEmailIn(Collection<String> emails);
+    
     List<User> findByOrganizationIdAndStatus(Long organizationId, UserStatus status);
-} 
\ No newline at end of file
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.role = :role, u.updatedAt = :now WHERE u.id IN :ids")
+    int updateRoleByIds(@Param("ids") List<Long> ids, @Param("role") UserRole role, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = :status, u.updatedAt = :now WHERE u.id IN :ids")
+    int updateStatusByIds(@Param("ids") List<Long> ids, @Param("status") UserStatus status, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT u.aadhaarVerified FROM User u WHERE u.id = :userId")
+    Optional<Boolean> findAadhaarVerifiedById(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.aadhaarNumber = :aadhaarNumber, u.aadhaarVerified = true, " +
+           "u.aadhaarVerificationId = :verificationId, u.aadhaarVerifiedAt = :verifiedAt, u.updatedAt = :verifiedAt " +
+           "WHERE u.id = :userId")
+    int markAadhaarVerified(@Param("userId") Long userId,
+                            @Param("aadhaarNumber") String aadhaarNumber,
+                            @Param("verificationId") String verificationId,
+                            @Param("verifiedAt") LocalDateTime verifiedAt);
+    
+    interface UserIdentity {
+        Long getId();
+        String getEmail();
+        String getUsername();
+    }
+}
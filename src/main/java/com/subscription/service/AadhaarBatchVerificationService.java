@@ -0,0 +1,254 @@
+package com.subscription.service;
+
+import com.subscription.dto.AadhaarBatchItemResult;
+import com.subscription.dto.AadhaarVerificationRequest;
+import com.subscription.dto.AadhaarVerificationResponse;
+import com.subscription.model.AadhaarVerification;
+import com.subscription.model.User;
+import com.subscription.repository.AadhaarVerificationBatchWriter;
+import com.subscription.repository.UserBatchWriter;
+import com.subscription.repository.UserRepository;
+import com.subscription.service.AadhaarVerificationService.BatchVerificationOutcome;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies a roster of Aadhaar numbers. Entries are validated up front, verified with bounded
+ * parallelism, persisted with JDBC batch inserts and reported one by one as they complete.
+ * Each row is recorded for the entry's own userId, never for the caller who submitted the batch,
+ * and a successful entry marks that user verified in the same transaction as its row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AadhaarBatchVerificationService {
+
+    private final AadhaarVerificationService aadhaarVerificationService;
+    private final AadhaarVerificationBatchWriter batchWriter;
+    private final VerificationResultCache verificationResultCache;
+    private final Validator validator;
+    private final DomainEventLog domainEventLog;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final UserBatchWriter userBatchWriter;
+
+    @Value("${aadhaar.batch.parallelism:32}")
+    private int parallelism;
+
+    @Value("${aadhaar.batch.flush-size:100}")
+    private int flushSize;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "aadhaar-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdown();
+    }
+
+    /**
+     * Verify all entries, passing each result to the sink on the calling thread
+     */
+    public void verifyBatch(List<AadhaarVerificationRequest> requests, User user, Consumer<AadhaarBatchItemResult> sink) {
+        log.info("Starting batch Aadhaar verification of {} entries for user: {}", requests.size(), user.getEmail());
+
+        // Subjects named by the entries, restricted to the caller's organization
+        Map<Long, User> subjects = loadSubjects(requests, user);
+
+        // Reject malformed entries before any gateway call
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i), subjects);
+            if (error != null) {
+                sink.accept(AadhaarBatchItemResult.builder().index(i).success(false).errorMessage(error).build());
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        // Keep at most `parallelism` entries of this batch in flight
+        CompletionService<ItemOutcome> completionService = new ExecutorCompletionService<>(executor);
+        Iterator<Integer> remaining = validIndexes.iterator();
+        Set<Integer> inFlight = new HashSet<>();
+        while (inFlight.size() < parallelism && remaining.hasNext()) {
+            inFlight.add(submit(completionService, remaining.next(), requests, subjects));
+        }
+
+        List<ItemOutcome> pending = new ArrayList<>();
+        try {
+            while (!inFlight.isEmpty()) {
+                Future<ItemOutcome> next = completionService.poll();
+                if (next == null) {
+                    // Nothing else is ready: persist and report what we have before blocking
+                    flush(pending, sink);
+                    next = completionService.take();
+                }
+                ItemOutcome outcome = next.get();
+                inFlight.remove(outcome.index());
+                pending.add(outcome);
+
+                if (remaining.hasNext()) {
+                    inFlight.add(submit(completionService, remaining.next(), requests, subjects));
+                }
+                if (pending.size() >= flushSize) {
+                    flush(pending, sink);
+                }
+            }
+            flush(pending, sink);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Batch Aadhaar verification interrupted with {} entries in flight", inFlight.size());
+            // Every entry without a line yet gets one; unpersisted results count as failed
+            pending.forEach(outcome -> inFlight.add(outcome.index()));
+            remaining.forEachRemaining(inFlight::add);
+            inFlight.stream().sorted().forEach(index -> sink.accept(AadhaarBatchItemResult.builder()
+                    .index(index)
+                    .success(false)
+                    .errorMessage("Batch verification was interrupted")
+                    .build()));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch verification task failed", e.getCause());
+        }
+
+        log.info("Finished batch Aadhaar verification of {} entries", requests.size());
+    }
+
+    private int submit(CompletionService<ItemOutcome> completionService, int index,
+                       List<AadhaarVerificationRequest> requests, Map<Long, User> subjects) {
+        AadhaarVerificationRequest request = requests.get(index);
+        User subject = request.getUserId() != null ? subjects.get(request.getUserId()) : null;
+        Long userId = subject != null ? subject.getId() : null;
+        completionService.submit(() -> {
+            try {
+                return new ItemOutcome(index, userId, aadhaarVerificationService.verifyForBatch(request, subject), null);
+            } catch (Exception e) {
+                log.error("Error verifying batch entry {}", index, e);
+                return new ItemOutcome(index, userId, null, "Aadhaar verification failed: " + e.getMessage());
+            }
+        });
+        return index;
+    }
+
+    private void flush(List<ItemOutcome> pending, Consumer<AadhaarBatchItemResult> sink) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<AadhaarVerification> rows = pending.stream()
+                .filter(outcome -> outcome.outcome() != null)
+                .map(outcome -> outcome.outcome().verification())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        // Successful entries for a user, including those answered from the cache
+        List<Map.Entry<Long, AadhaarVerificationResponse>> verifiedUsers = pending.stream()
+                .filter(outcome -> outcome.userId() != null && outcome.outcome() != null
+                        && outcome.outcome().response().isVerified())
+                .map(outcome -> Map.entry(outcome.userId(), outcome.outcome().response()))
+                .collect(Collectors.toList());
+
+        String persistError = null;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                batchWriter.insertAll(rows);
+                userBatchWriter.markAadhaarVerified(verifiedUsers);
+                domainEventLog.recordVerificationsCreated(rows);
+            });
+            rows.forEach(verificationResultCache::put);
+        } catch (Exception e) {
+            log.error("Failed to persist {} batch verification rows", rows.size(), e);
+            persistError = "Failed to persist verification: " + e.getMessage();
+        }
+
+        for (ItemOutcome outcome : pending) {
+            sink.accept(outcome.toResult(persistError));
+        }
+        pending.clear();
+    }
+
+    private Map<Long, User> loadSubjects(List<AadhaarVerificationRequest> requests, User caller) {
+        Set<Long> userIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(AadhaarVerificationRequest::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Long organizationId = caller.getOrganization().getId();
+        return userRepository.findAllById(userIds).stream()
+                .filter(subject -> subject.getOrganization().getId().equals(organizationId))
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private String validate(AadhaarVerificationRequest request, Map<Long, User> subjects) {
+        if (request == null) {
+            return "Verification entry is missing";
+        }
+        Set<ConstraintViolation<AadhaarVerificationRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            if (request.getUserId() != null && !subjects.containsKey(request.getUserId())) {
+                return "User not found in this organization";
+            }
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record ItemOutcome(int index, Long userId, BatchVerificationOutcome outcome, String errorMessage) {
+
+        AadhaarBatchItemResult toResult(String persistError) {
+            if (outcome == null) {
+                return AadhaarBatchItemResult.builder().index(index).success(false).errorMessage(errorMessage).build();
+            }
+            boolean written = outcome.verification() != null || userId != null && outcome.response().isVerified();
+            if (persistError != null && written) {
+                return AadhaarBatchItemResult.builder().index(index).success(false).errorMessage(persistError).build();
+            }
+            return AadhaarBatchItemResult.builder()
+                    .index(index)
+                    .success(outcome.response().isVerified())
+                    .result(outcome.response())
+                    .errorMessage(outcome.response().getErrorMessage())
+                    .build();
+        }
+    }
+}
@@ -2,28 +2,43 @@ package com.subscription.service;
 
 import com.subscription.dto.AadhaarOtpRequest;
 import com.subscription.dto.AadhaarOtpVerifyRequest;
+import com.subscription.dto.AadhaarVerificationHistoryPage;
 import com.subscription.dto.AadhaarVerificationRequest;
 import com.subscription.dto.AadhaarVerificationResponse;
+import com.subscription.dto.AadhaarVerificationSummary;
+import com.subscription.exception.DomainException;
 import com.subscription.exception.InvalidOperationException;
 import com.subscription.model.AadhaarVerification;
+import com.subscription.model.AadhaarVerificationArchive;
 import com.subscription.model.AadhaarVerificationStatus;
 import com.subscription.model.User;
+import com.subscription.repository.AadhaarVerificationArchiveRepository;
 import com.subscription.repository.AadhaarVerificationRepository;
+import com.subscription.repository.UserRepository;
+import com.subscription.service.VerificationResultCache.CachedVerification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,6 +48,12 @@ public class AadhaarVerificationService {
 
     private final RestTemplate restTemplate;
     private final AadhaarVerificationRepository aadhaarVerificationRepository;
+    private final VerificationResultCache verificationResultCache;
+    private final AadhaarVerificationArchiveRepository archiveRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEventLog domainEventLog;
+    private final IdGenerator idGenerator;
 
     @Value("${aadhaar.api.base-url:https://api.uidai.gov.in}")
     private String aadhaarApiBaseUrl;
@@ -49,23 +70,66 @@ public class AadhaarVerificationService {
     @Value("${aadhaar.api.consent-text:Y}")
     private String consentText;
 
+    @Value("${aadhaar.otp.resend-interval-seconds:30}")
+    private long otpResendIntervalSeconds;
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    private final SingleFlight<String, Map<String, String>> otpGenerations = new SingleFlight<>();
+    private final SingleFlight<String, AadhaarVerificationResponse> otpVerifications = new SingleFlight<>();
+
     /**
-     * Generate OTP for Aadhaar verification
+     * Generate OTP for Aadhaar verification. Concurrent calls for the same transaction and Aadhaar
+     * number share one upstream call; a call with a different Aadhaar number runs on its own.
      */
     public Map<String, String> generateOtp(AadhaarOtpRequest request) {
+        String key = request.getTransactionId() + "|" + verificationResultCache.fingerprint(request.getAadhaarNumber());
+        return otpGenerations.execute(key, () -> doGenerateOtp(request));
+    }
+
+    private Map<String, String> doGenerateOtp(AadhaarOtpRequest request) {
         try {
             log.info("Generating OTP for Aadhaar number: {}", maskAadhaar(request.getAadhaarNumber()));
 
-            // Create verification record
-            AadhaarVerification verification = AadhaarVerification.builder()
-                    .verificationId(UUID.randomUUID().toString())
-                    .aadhaarNumber(maskAadhaar(request.getAadhaarNumber()))
-                    .transactionId(request.getTransactionId())
-                    .status(AadhaarVerificationStatus.PENDING)
-                    .verificationMethod("OTP")
-                    .build();
-
-            aadhaarVerificationRepository.save(verification);
+            // Reuse the verification record of this transaction, if any
+            AadhaarVerification verification = aadhaarVerificationRepository
+                    .findByTransactionId(request.getTransactionId())
+                    .orElse(null);
+
+            boolean resend = false;
+            if (verification != null) {
+                if (!isSameAadhaar(verification, request.getAadhaarNumber())) {
+                    throw new InvalidOperationException("Transaction ID is already used for another Aadhaar number");
+                }
+                if (verification.getStatus() == AadhaarVerificationStatus.PENDING) {
+                    if (verification.getUpdatedAt().isAfter(LocalDateTime.now().minusSeconds(otpResendIntervalSeconds))) {
+                        // OTP was sent moments ago for this transaction
+                        log.info("OTP already generated for transaction: {}", request.getTransactionId());
+                        return otpGeneratedResult(request.getTransactionId(), verification);
+                    }
+                    // Resend; updatedAt is only touched once the gateway has accepted it
+                    log.info("Resending OTP for transaction: {}", request.getTransactionId());
+                    resend = true;
+                } else if (verification.getStatus() == AadhaarVerificationStatus.FAILED) {
+                    // Retry of a failed attempt: claim the record back to PENDING
+                    verification.setStatus(AadhaarVerificationStatus.PENDING);
+                    verification.setErrorMessage(null);
+                    verification = saveTransition(verification, AadhaarVerificationStatus.FAILED);
+                } else {
+                    throw new InvalidOperationException("OTP cannot be generated for a transaction in status " + verification.getStatus());
+                }
+            } else {
+                verification = AadhaarVerification.builder()
+                        .verificationId(idGenerator.nextUnguessableString())
+                        .aadhaarNumber(maskAadhaar(request.getAadhaarNumber()))
+                        .aadhaarHash(verificationResultCache.hashAadhaar(request.getAadhaarNumber()))
+                        .transactionId(request.getTransactionId())
+                        .status(AadhaarVerificationStatus.PENDING)
+                        .verificationMethod("OTP")
+                        .build();
+                // Optimistic version check: only one caller can claim the transaction
+                verification = saveTransition(verification, null);
+            }
 
             // Prepare request payload
             Map<String, Object> payload = new HashMap<>();
@@ -81,24 +145,32 @@ public class AadhaarVerificationService {
             String url = aadhaarApiBaseUrl + "/v1/otp";
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
 
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
+            ResponseEntity<Map> response;
+            try {
+                response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
+            } catch (RuntimeException e) {
+                failClaimed(verification, AadhaarVerificationStatus.PENDING, "Failed to generate OTP");
+                throw e;
+            }
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, String> result = new HashMap<>();
-                result.put("transactionId", request.getTransactionId());
-                result.put("verificationId", verification.getVerificationId());
-                result.put("status", "SUCCESS");
-                result.put("message", "OTP sent successfully");
-                
                 log.info("OTP generated successfully for transaction: {}", request.getTransactionId());
-                return result;
+                if (resend) {
+                    verification = touchResend(verification);
+                }
+                return otpGeneratedResult(request.getTransactionId(), verification);
             } else {
                 verification.setStatus(AadhaarVerificationStatus.FAILED);
                 verification.setErrorMessage("Failed to generate OTP");
-                aadhaarVerificationRepository.save(verification);
+                saveTransition(verification, AadhaarVerificationStatus.PENDING);
                 throw new InvalidOperationException("Failed to generate OTP");
             }
 
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Concurrent OTP generation for transaction: {}", request.getTransactionId());
+            throw new InvalidOperationException("OTP generation is already in progress for this transaction");
+        } catch (DomainException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error generating OTP for Aadhaar: {}", maskAadhaar(request.getAadhaarNumber()), e);
             throw new InvalidOperationException("Failed to generate OTP: " + e.getMessage());
@@ -106,9 +178,16 @@ public class AadhaarVerificationService {
     }
 
     /**
-     * Verify OTP and get Aadhaar details
+     * Verify OTP and get Aadhaar details. Concurrent identical calls for the same transaction
+     * share one upstream call; a call with a different Aadhaar number or OTP runs on its own.
      */
     public AadhaarVerificationResponse verifyOtp(AadhaarOtpVerifyRequest request) {
+        String key = request.getTransactionId() + "|"
+                + verificationResultCache.fingerprint(request.getAadhaarNumber(), request.getOtp());
+        return otpVerifications.execute(key, () -> doVerifyOtp(request));
+    }
+
+    private AadhaarVerificationResponse doVerifyOtp(AadhaarOtpVerifyRequest request) {
         try {
             log.info("Verifying OTP for Aadhaar number: {}", maskAadhaar(request.getAadhaarNumber()));
 
@@ -117,8 +196,20 @@ public class AadhaarVerificationService {
                     .findByTransactionId(request.getTransactionId())
                     .orElseThrow(() -> new InvalidOperationException("Verification record not found"));
 
+            if (!isSameAadhaar(verification, request.getAadhaarNumber())) {
+                throw new InvalidOperationException("Transaction ID is already used for another Aadhaar number");
+            }
+            if (verification.getStatus() == AadhaarVerificationStatus.SUCCESS) {
+                // Already verified for this Aadhaar: answer from the stored record instead of calling UIDAI again
+                return toVerificationResponse(verification);
+            }
+            if (verification.getStatus() != AadhaarVerificationStatus.PENDING) {
+                throw new InvalidOperationException("OTP cannot be verified for a transaction in status " + verification.getStatus());
+            }
+
+            // PENDING -> IN_PROGRESS; fails on a stale version if another node claimed it first
             verification.setStatus(AadhaarVerificationStatus.IN_PROGRESS);
-            aadhaarVerificationRepository.save(verification);
+            verification = saveTransition(verification, AadhaarVerificationStatus.PENDING);
 
             // Prepare request payload
             Map<String, Object> payload = new HashMap<>();
@@ -133,7 +224,13 @@ public class AadhaarVerificationService {
             String url = aadhaarApiBaseUrl + "/v1/otp/verify";
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
 
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
+            ResponseEntity<Map> response;
+            try {
+                response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
+            } catch (RuntimeException e) {
+                failClaimed(verification, AadhaarVerificationStatus.IN_PROGRESS, "OTP verification failed");
+                throw e;
+            }
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 Map<String, Object> responseBody = response.getBody();
@@ -143,7 +240,7 @@ public class AadhaarVerificationService {
                 verification.setVerifiedAt(LocalDateTime.now());
                 verification.setNameMatch("100");
                 verification.setDobMatch("100");
-                aadhaarVerificationRepository.save(verification);
+                verification = saveTransition(verification, AadhaarVerificationStatus.IN_PROGRESS);
 
                 AadhaarVerificationResponse verificationResponse = AadhaarVerificationResponse.builder()
                         .verified(true)
@@ -154,7 +251,7 @@ public class AadhaarVerificationService {
                         .gender((String) responseBody.get("gender"))
                         .address((String) responseBody.get("address"))
                         .photo((String) responseBody.get("photo"))
-                        .verifiedAt(LocalDateTime.now())
+                        .verifiedAt(verification.getVerifiedAt())
                         .verificationMethod("OTP")
                         .nameMatch("100")
                         .dobMatch("100")
@@ -165,16 +262,23 @@ public class AadhaarVerificationService {
             } else {
                 verification.setStatus(AadhaarVerificationStatus.FAILED);
                 verification.setErrorMessage("OTP verification failed");
-                aadhaarVerificationRepository.save(verification);
+                saveTransition(verification, AadhaarVerificationStatus.IN_PROGRESS);
                 throw new InvalidOperationException("OTP verification failed");
             }
 
         } catch (Exception e) {
-            log.error("Error verifying OTP for Aadhaar: {}", maskAadhaar(request.getAadhaarNumber()), e);
+            if (e instanceof DomainException) {
+                log.info("OTP verification rejected for Aadhaar {}: {}", maskAadhaar(request.getAadhaarNumber()), e.getMessage());
+            } else {
+                log.error("Error verifying OTP for Aadhaar: {}", maskAadhaar(request.getAadhaarNumber()), e);
+            }
             
+            String message = e instanceof OptimisticLockingFailureException
+                    ? "verification is already in progress for this transaction"
+                    : e.getMessage();
             return AadhaarVerificationResponse.builder()
                     .verified(false)
-                    .errorMessage("OTP verification failed: " + e.getMessage())
+                    .errorMessage("OTP verification failed: " + message)
                     .errorCode("OTP_VERIFICATION_FAILED")
                     .verifiedAt(LocalDateTime.now())
                     .build();
@@ -189,16 +293,32 @@ public class AadhaarVerificationService {
             log.info("Verifying Aadhaar for user: {} with Aadhaar: {}", 
                     user.getEmail(), maskAadhaar(request.getAadhaarNumber()));
 
+            // Answer repeat checks of an already verified Aadhaar without calling the API
+            String aadhaarHash = verificationResultCache.hashAadhaar(request.getAadhaarNumber());
+            String demographicsHash = verificationResultCache.hashDemographics(request);
+            Optional<CachedVerification> cached = verificationResultCache.findFresh(aadhaarHash, demographicsHash);
+            if (cached.isPresent()) {
+                CachedVerification hit = cached.get();
+                log.info("Using cached Aadhaar verification {} for user: {}", hit.verificationId(), user.getEmail());
+
+                transactionTemplate.executeWithoutResult(status ->
+                        applyVerificationToUser(user, hit.maskedAadhaarNumber(), hit.verificationId(), hit.verifiedAt()));
+
+                return cachedVerificationResponse(hit, request);
+            }
+
             // Create verification record
             AadhaarVerification verification = AadhaarVerification.builder()
-                    .verificationId(UUID.randomUUID().toString())
+                    .verificationId(idGenerator.nextUnguessableString())
                     .aadhaarNumber(maskAadhaar(request.getAadhaarNumber()))
+                    .aadhaarHash(aadhaarHash)
+                    .demographicsHash(demographicsHash)
                     .user(user)
                     .status(AadhaarVerificationStatus.IN_PROGRESS)
                     .verificationMethod("DEMO")
                     .build();
 
-            aadhaarVerificationRepository.save(verification);
+            verification = saveTransition(verification, null);
 
             // In a real implementation, this would call the actual Aadhaar API
             // For demo purposes, we'll simulate verification
@@ -210,7 +330,7 @@ public class AadhaarVerificationService {
             if (!request.getAadhaarNumber().matches("^[0-9]{12}$")) {
                 verification.setStatus(AadhaarVerificationStatus.FAILED);
                 verification.setErrorMessage("Invalid Aadhaar number format");
-                aadhaarVerificationRepository.save(verification);
+                saveTransition(verification, AadhaarVerificationStatus.IN_PROGRESS);
                 throw new InvalidOperationException("Invalid Aadhaar number format");
             }
 
@@ -223,13 +343,16 @@ public class AadhaarVerificationService {
                 verification.setVerifiedAt(LocalDateTime.now());
                 verification.setNameMatch("100");
                 verification.setDobMatch("100");
-                aadhaarVerificationRepository.save(verification);
 
-                // Update user's Aadhaar verification status
-                user.setAadhaarNumber(maskAadhaar(request.getAadhaarNumber()));
-                user.setAadhaarVerified(true);
-                user.setAadhaarVerificationId(verification.getVerificationId());
-                user.setAadhaarVerifiedAt(LocalDateTime.now());
+                // Verification row and user's Aadhaar status are committed together
+                AadhaarVerification succeeded = verification;
+                verification = transactionTemplate.execute(status -> {
+                    AadhaarVerification saved = aadhaarVerificationRepository.save(succeeded);
+                    domainEventLog.recordVerificationTransition(saved, AadhaarVerificationStatus.IN_PROGRESS);
+                    applyVerificationToUser(user, saved.getAadhaarNumber(), saved.getVerificationId(), saved.getVerifiedAt());
+                    return saved;
+                });
+                verificationResultCache.put(verification);
 
                 AadhaarVerificationResponse response = AadhaarVerificationResponse.builder()
                         .verified(true)
@@ -250,7 +373,7 @@ public class AadhaarVerificationService {
             } else {
                 verification.setStatus(AadhaarVerificationStatus.FAILED);
                 verification.setErrorMessage("Aadhaar verification failed");
-                aadhaarVerificationRepository.save(verification);
+                saveTransition(verification, AadhaarVerificationStatus.IN_PROGRESS);
 
                 return AadhaarVerificationResponse.builder()
                         .verified(false)
@@ -260,6 +383,8 @@ public class AadhaarVerificationService {
                         .build();
             }
 
+        } catch (DomainException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error verifying Aadhaar for user: {}", user.getEmail(), e);
             throw new InvalidOperationException("Aadhaar verification failed: " + e.getMessage());
@@ -267,32 +392,218 @@ public class AadhaarVerificationService {
     }
 
     /**
-     * Get verification history for a user
+     * Verify one batch entry without persisting it. Returns the response and, unless it was
+     * answered from the cache, the terminal verification row for the caller to batch-insert.
+     * The row belongs to the given subject, or to no user when the entry named none.
      */
-    public List<AadhaarVerificationResponse> getVerificationHistory(Long userId) {
-        List<AadhaarVerification> verifications = aadhaarVerificationRepository.findByUserId(userId);
-        
-        return verifications.stream()
-                .map(this::toVerificationResponse)
-                .collect(Collectors.toList());
+    public BatchVerificationOutcome verifyForBatch(AadhaarVerificationRequest request, User subject) throws InterruptedException {
+        String aadhaarHash = verificationResultCache.hashAadhaar(request.getAadhaarNumber());
+        String demographicsHash = verificationResultCache.hashDemographics(request);
+        Optional<CachedVerification> cached = verificationResultCache.findFresh(aadhaarHash, demographicsHash);
+        if (cached.isPresent()) {
+            return new BatchVerificationOutcome(cachedVerificationResponse(cached.get(), request), null);
+        }
+
+        AadhaarVerification verification = AadhaarVerification.builder()
+                .verificationId(idGenerator.nextUnguessableString())
+                .aadhaarNumber(maskAadhaar(request.getAadhaarNumber()))
+                .aadhaarHash(aadhaarHash)
+                .demographicsHash(demographicsHash)
+                .user(subject)
+                .verificationMethod("DEMO")
+                .build();
+
+        // Simulate API call delay
+        Thread.sleep(1000);
+
+        if (!simulateVerification(request)) {
+            verification.setStatus(AadhaarVerificationStatus.FAILED);
+            verification.setErrorMessage("Aadhaar verification failed");
+            verification.setErrorCode("VERIFICATION_FAILED");
+
+            return new BatchVerificationOutcome(AadhaarVerificationResponse.builder()
+                    .verified(false)
+                    .verificationId(verification.getVerificationId())
+                    .aadhaarNumber(verification.getAadhaarNumber())
+                    .errorMessage("Aadhaar verification failed")
+                    .errorCode("VERIFICATION_FAILED")
+                    .verifiedAt(LocalDateTime.now())
+                    .build(), verification);
+        }
+
+        verification.setStatus(AadhaarVerificationStatus.SUCCESS);
+        verification.setVerifiedAt(LocalDateTime.now());
+        verification.setNameMatch("100");
+        verification.setDobMatch("100");
+
+        return new BatchVerificationOutcome(AadhaarVerificationResponse.builder()
+                .verified(true)
+                .verificationId(verification.getVerificationId())
+                .aadhaarNumber(verification.getAadhaarNumber())
+                .name(request.getName())
+                .dateOfBirth(request.getDateOfBirth())
+                .gender(request.getGender())
+                .address(request.getAddress())
+                .verifiedAt(verification.getVerifiedAt())
+                .verificationMethod("DEMO")
+                .nameMatch("100")
+                .dobMatch("100")
+                .build(), verification);
+    }
+
+    public record BatchVerificationOutcome(AadhaarVerificationResponse response, AadhaarVerification verification) {
+    }
+
+    /**
+     * Get a page of verification history for a user, newest first. The cursor is the opaque
+     * nextCursor of the previous page; status is an optional filter.
+     */
+    public AadhaarVerificationHistoryPage getVerificationHistory(Long userId, AadhaarVerificationStatus status,
+                                                                 String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        HistoryCursor position = cursor != null ? HistoryCursor.decode(cursor) : HistoryCursor.START;
+        // One extra row tells whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<AadhaarVerificationSummary> rows = new ArrayList<>(status == null
+                ? aadhaarVerificationRepository.findHistoryPage(userId, position.createdAt(), position.id(), limit)
+                : aadhaarVerificationRepository.findHistoryPageByStatus(userId, status, position.createdAt(), position.id(), limit));
+
+        // Read the hot table first; archived rows are older, so only continue there when it runs out
+        if (rows.size() <= pageSize) {
+            HistoryCursor archivePosition = rows.isEmpty() ? position : HistoryCursor.of(rows.get(rows.size() - 1));
+            Pageable archiveLimit = PageRequest.of(0, pageSize + 1 - rows.size());
+            (status == null
+                    ? archiveRepository.findHistoryPage(userId, archivePosition.createdAt(), archivePosition.id(), archiveLimit)
+                    : archiveRepository.findHistoryPageByStatus(userId, status, archivePosition.createdAt(), archivePosition.id(), archiveLimit))
+                    .stream()
+                    .map(this::toSummary)
+                    .forEach(rows::add);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AadhaarVerificationSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return AadhaarVerificationHistoryPage.builder()
+                .items(page.stream().map(this::toVerificationResponse).collect(Collectors.toList()))
+                .nextCursor(hasMore ? HistoryCursor.of(page.get(page.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Whether the user has a successful Aadhaar verification, answered from the user row
+     */
+    public boolean isUserVerified(Long userId) {
+        return userRepository.findAadhaarVerifiedById(userId).orElse(false);
     }
 
     /**
      * Get verification by ID
      */
     public AadhaarVerificationResponse getVerificationById(String verificationId) {
-        AadhaarVerification verification = aadhaarVerificationRepository
-                .findByVerificationId(verificationId)
+        return aadhaarVerificationRepository.findByVerificationId(verificationId)
+                .map(this::toVerificationResponse)
+                .or(() -> archiveRepository.findByVerificationId(verificationId).map(this::toVerificationResponse))
                 .orElseThrow(() -> new InvalidOperationException("Verification not found"));
-        
-        return toVerificationResponse(verification);
     }
 
     /**
-     * Generate a transaction ID for Aadhaar operations
+     * Generate a transaction ID for Aadhaar operations: time-ordered, with a random suffix so
+     * that transaction ids cannot be enumerated
      */
     public String generateTransactionId() {
-        return "TXN_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        return "TXN_" + idGenerator.nextUnguessableString();
+    }
+
+    /**
+     * Save a status change together with its event log entry
+     */
+    /**
+     * Whether the record was created for this Aadhaar number; compares hashes in constant time
+     */
+    private boolean isSameAadhaar(AadhaarVerification verification, String aadhaarNumber) {
+        String aadhaarHash = verificationResultCache.hashAadhaar(aadhaarNumber);
+        return verification.getAadhaarHash() != null && MessageDigest.isEqual(
+                aadhaarHash.getBytes(StandardCharsets.US_ASCII),
+                verification.getAadhaarHash().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Move a record claimed for a gateway call to FAILED after the call threw, so the
+     * transaction is not left claimed and can be retried
+     */
+    private void failClaimed(AadhaarVerification verification, AadhaarVerificationStatus claimedStatus, String errorMessage) {
+        verification.setStatus(AadhaarVerificationStatus.FAILED);
+        verification.setErrorMessage(errorMessage);
+        try {
+            saveTransition(verification, claimedStatus);
+        } catch (RuntimeException e) {
+            log.warn("Could not mark verification {} as failed: {}", verification.getVerificationId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Start the resend interval of a PENDING record again after a resent OTP went out
+     */
+    private AadhaarVerification touchResend(AadhaarVerification verification) {
+        verification.setUpdatedAt(LocalDateTime.now());
+        try {
+            return transactionTemplate.execute(status -> aadhaarVerificationRepository.save(verification));
+        } catch (OptimisticLockingFailureException e) {
+            // Another node resent at the same time; its save already started the interval
+            log.debug("Concurrent OTP resend for transaction: {}", verification.getTransactionId());
+            return verification;
+        }
+    }
+
+    private AadhaarVerification saveTransition(AadhaarVerification verification, AadhaarVerificationStatus fromStatus) {
+        return transactionTemplate.execute(status -> {
+            AadhaarVerification saved = aadhaarVerificationRepository.save(verification);
+            domainEventLog.recordVerificationTransition(saved, fromStatus);
+            return saved;
+        });
+    }
+
+    /**
+     * Record a successful verification on the user row with one targeted update
+     */
+    private void applyVerificationToUser(User user, String maskedAadhaarNumber, String verificationId, LocalDateTime verifiedAt) {
+        int updated = userRepository.markAadhaarVerified(user.getId(), maskedAadhaarNumber, verificationId, verifiedAt);
+        if (updated == 0) {
+            log.warn("No user row {} to record Aadhaar verification {} on", user.getId(), verificationId);
+        }
+
+        user.setAadhaarNumber(maskedAadhaarNumber);
+        user.setAadhaarVerified(true);
+        user.setAadhaarVerificationId(verificationId);
+        user.setAadhaarVerifiedAt(verifiedAt);
+    }
+
+    private AadhaarVerificationResponse cachedVerificationResponse(CachedVerification cached,
+                                                                   AadhaarVerificationRequest request) {
+        return AadhaarVerificationResponse.builder()
+                .verified(true)
+                .verificationId(cached.verificationId())
+                .aadhaarNumber(cached.maskedAadhaarNumber())
+                .name(request.getName())
+                .dateOfBirth(request.getDateOfBirth())
+                .gender(request.getGender())
+                .address(request.getAddress())
+                .verifiedAt(cached.verifiedAt())
+                .verificationMethod(cached.verificationMethod())
+                .nameMatch(cached.nameMatch())
+                .dobMatch(cached.dobMatch())
+                .build();
+    }
+
+    private Map<String, String> otpGeneratedResult(String transactionId, AadhaarVerification verification) {
+        Map<String, String> result = new HashMap<>();
+        result.put("transactionId", transactionId);
+        result.put("verificationId", verification.getVerificationId());
+        result.put("status", "SUCCESS");
+        result.put("message", "OTP sent successfully");
+        return result;
     }
 
     /**
@@ -312,7 +623,7 @@ public class AadhaarVerificationService {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Content-Type", "application/json");
         headers.set("X-Client-ID", clientId);
-        headers.set("X-Client-Secret", "dfgdfgsa$dsgsfdgsfg123dfsg"clientSecret"");
+        headers.set("X-Client-Secret", clientSecret);
         headers.set("X-App-ID", appId);
         headers.set("X-Timestamp", String.valueOf(System.currentTimeMillis()));
         return headers;
@@ -328,6 +639,67 @@ public class AadhaarVerificationService {
                !request.getName().trim().isEmpty();
     }
 
+    private AadhaarVerificationResponse toVerificationResponse(AadhaarVerificationArchive archived) {
+        return toVerificationResponse(toSummary(archived));
+    }
+
+    private AadhaarVerificationSummary toSummary(AadhaarVerificationArchive archived) {
+        AadhaarVerificationSummary summary = new AadhaarVerificationSummary();
+        summary.setId(archived.getId());
+        summary.setVerificationId(archived.getVerificationId());
+        summary.setAadhaarNumber(archived.getAadhaarNumber());
+        summary.setStatus(archived.getStatus());
+        summary.setVerificationMethod(archived.getVerificationMethod());
+        summary.setErrorCode(archived.getErrorCode());
+        summary.setVerifiedAt(archived.getVerifiedAt());
+        summary.setCreatedAt(archived.getCreatedAt());
+        return summary;
+    }
+
+    private AadhaarVerificationResponse toVerificationResponse(AadhaarVerificationSummary summary) {
+        return AadhaarVerificationResponse.builder()
+                .verified(summary.getStatus() == AadhaarVerificationStatus.SUCCESS)
+                .verificationId(summary.getVerificationId())
+                .aadhaarNumber(summary.getAadhaarNumber())
+                .verifiedAt(summary.getVerifiedAt())
+                .verificationMethod(summary.getVerificationMethod())
+                .nameMatch(summary.getNameMatch())
+                .dobMatch(summary.getDobMatch())
+                .faceScore(summary.getFaceScore())
+                .addressMatch(summary.getAddressMatch())
+                .errorMessage(summary.getErrorMessage())
+                .errorCode(summary.getErrorCode())
+                .build();
+    }
+
+    /**
+     * Keyset position (createdAt, id) in the newest-first history ordering
+     */
+    private record HistoryCursor(LocalDateTime createdAt, Long id) {
+
+        static final HistoryCursor START = new HistoryCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+        static HistoryCursor of(AadhaarVerificationSummary summary) {
+            return new HistoryCursor(summary.getCreatedAt(), summary.getId());
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                return new HistoryCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new InvalidOperationException("Invalid history cursor");
+            }
+        }
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     /**
      * Convert AadhaarVerification entity to AadhaarVerificationResponse DTO
      */
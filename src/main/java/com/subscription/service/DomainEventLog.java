@@ -0,0 +1,163 @@
+package com.subscription.service;
+
+import com.subscription.dto.OrganizationEvent;
+import com.subscription.model.AadhaarVerification;
+import com.subscription.model.AadhaarVerificationStatus;
+import com.subscription.model.DomainAggregateType;
+import com.subscription.model.DomainEventRecord;
+import com.subscription.model.InvitationStatus;
+import com.subscription.model.OrganizationEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only log of user, invitation and Aadhaar verification state transitions.
+ * Entries are written through JDBC on the caller's transaction, so a transition and its
+ * log entry commit or roll back together. Organization events raised in one transaction
+ * are collected and written as a single batch just before it commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class DomainEventLog {
+    
+    public static final String VERIFICATION_STATUS_CHANGED = "VERIFICATION_STATUS_CHANGED";
+    
+    private static final String INSERT_SQL = "INSERT INTO domain_events " +
+            "(aggregate_type, aggregate_id, organization_id, event_type, from_state, to_state, from_role, to_role, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    private static final Object PENDING_RECORDS_KEY = new Object();
+    
+    @EventListener
+    public void onOrganizationEvent(OrganizationEvent event) {
+        DomainEventRecord record = toRecord(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingRecords().add(record);
+        } else {
+            append(List.of(record));
+        }
+    }
+    
+    public void recordVerificationTransition(AadhaarVerification verification, AadhaarVerificationStatus fromStatus) {
+        append(List.of(toRecord(verification, fromStatus)));
+    }
+    
+    /**
+     * Log verifications that were inserted directly in their terminal status
+     */
+    public void recordVerificationsCreated(List<AadhaarVerification> verifications) {
+        append(verifications.stream()
+                .map(verification -> toRecord(verification, null))
+                .collect(Collectors.toList()));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<DomainEventRecord> pendingRecords() {
+        List<DomainEventRecord> pending = (List<DomainEventRecord>) TransactionSynchronizationManager.getResource(PENDING_RECORDS_KEY);
+        if (pending == null) {
+            List<DomainEventRecord> records = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(PENDING_RECORDS_KEY, records);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    append(records);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_RECORDS_KEY);
+                }
+            });
+            pending = records;
+        }
+        return pending;
+    }
+    
+    private void append(List<DomainEventRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), (ps, r) -> {
+            ps.setString(1, r.getAggregateType().name());
+            ps.setString(2, r.getAggregateId());
+            if (r.getOrganizationId() != null) {
+                ps.setLong(3, r.getOrganizationId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, r.getEventType());
+            ps.setString(5, r.getFromState());
+            ps.setString(6, r.getToState());
+            ps.setString(7, r.getFromRole());
+            ps.setString(8, r.getToRole());
+            ps.setTimestamp(9, Timestamp.valueOf(r.getOccurredAt()));
+        });
+    }
+    
+    private DomainEventRecord toRecord(OrganizationEvent event) {
+        OrganizationEventType type = event.getType();
+        DomainEventRecord.DomainEventRecordBuilder record = DomainEventRecord.builder()
+                .organizationId(event.getOrganizationId())
+                .eventType(type.name())
+                .occurredAt(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now());
+        
+        if (event.getInvitationId() != null) {
+            // Invitations only ever leave PENDING, so the previous state follows from the event type
+            return record.aggregateType(DomainAggregateType.INVITATION)
+                    .aggregateId(event.getInvitationId().toString())
+                    .fromState(type == OrganizationEventType.INVITATION_CREATED ? null : InvitationStatus.PENDING.name())
+                    .toState(event.getInvitationStatus().name())
+                    .fromRole(type == OrganizationEventType.INVITATION_CREATED ? null : nameOf(event.getRole()))
+                    .toRole(nameOf(event.getRole()))
+                    .build();
+        }
+        
+        record.aggregateType(DomainAggregateType.USER).aggregateId(event.getUserId().toString());
+        switch (type) {
+            case USER_CREATED -> record
+                    .toState(nameOf(event.getUserStatus()))
+                    .toRole(nameOf(event.getRole()));
+            case USER_REMOVED -> record
+                    .fromState(nameOf(event.getUserStatus()))
+                    .fromRole(nameOf(event.getRole()));
+            default -> record
+                    .fromState(nameOf(event.getPreviousUserStatus()))
+                    .toState(nameOf(event.getUserStatus()))
+                    .fromRole(nameOf(event.getPreviousRole()))
+                    .toRole(nameOf(event.getRole()));
+        }
+        return record.build();
+    }
+    
+    private DomainEventRecord toRecord(AadhaarVerification verification, AadhaarVerificationStatus fromStatus) {
+        Long organizationId = verification.getUser() != null && verification.getUser().getOrganization() != null
+                ? verification.getUser().getOrganization().getId()
+                : null;
+        return DomainEventRecord.builder()
+                .aggregateType(DomainAggregateType.AADHAAR_VERIFICATION)
+                .aggregateId(verification.getVerificationId())
+                .organizationId(organizationId)
+                .eventType(VERIFICATION_STATUS_CHANGED)
+                .fromState(nameOf(fromStatus))
+                .toState(nameOf(verification.getStatus()))
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+    
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,195 @@
+package com.subscription.service;
+
+import com.subscription.config.ShardContext;
+import com.subscription.dto.OrganizationStatsDto;
+import com.subscription.dto.VerificationFunnelDto;
+import com.subscription.model.AadhaarVerificationStatus;
+import com.subscription.model.DomainEventRecord;
+import com.subscription.model.InvitationStatus;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import com.subscription.repository.DomainEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory analytics projections folded from the domain event log. The projector starts at
+ * the beginning of the log, so a restart replays it, and afterwards applies only new entries.
+ * With the sharded profile every shard has its own log and sequence, and each is followed
+ * separately.
+ * <p>
+ * Sequence numbers are handed out at insert time, so a transaction still open can commit
+ * a lower number after a higher one is visible. Projection stops at such a gap and only
+ * skips it once the entry behind it is older than the gap timeout (the lower number was
+ * rolled back).
+ * <p>
+ * Moving an organization to another shard copies its entries there under new numbers. The
+ * mover waits until the originals are applied, and the copies are then passed over, so a
+ * move changes no projection while a restart still replays the organization's history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DomainEventProjector {
+    
+    private final DomainEventRepository domainEventRepository;
+    private final ShardJobRunner shardJobRunner;
+    
+    @Value("${app.event-log.projection-batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${app.event-log.gap-timeout-ms:30000}")
+    private long gapTimeoutMs;
+    
+    private final Map<Long, OrganizationProjection> organizations = new HashMap<>();
+    private final Map<AadhaarVerificationStatus, Long> verificationsReached = new EnumMap<>(AadhaarVerificationStatus.class);
+    private final Map<AadhaarVerificationStatus, Long> verificationsCurrent = new EnumMap<>(AadhaarVerificationStatus.class);
+    // Last entry applied per shard; the key is null without the sharded profile
+    private final Map<String, Long> lastSequences = new HashMap<>();
+    // Entries a shard move copied to each shard, whose originals were already applied
+    private final Map<String, Set<Long>> movedEntries = new HashMap<>();
+    
+    @Scheduled(fixedDelayString = "${app.event-log.projection-interval-ms:1000}")
+    public synchronized void catchUp() {
+        shardJobRunner.forEachShard("Event log projection", () -> catchUp(ShardContext.current()));
+    }
+    
+    private void catchUp(String shard) {
+        while (true) {
+            // Shards number their entries from their own identity ranges, so the first entry read starts the sequence
+            Long lastSequence = lastSequences.get(shard);
+            List<DomainEventRecord> events = domainEventRepository.findByIdGreaterThanOrderByIdAsc(
+                    lastSequence != null ? lastSequence : 0L, PageRequest.of(0, batchSize));
+            LocalDateTime gapDeadline = LocalDateTime.now().minusNanos(gapTimeoutMs * 1_000_000);
+            for (DomainEventRecord event : events) {
+                if (lastSequence != null && event.getId() != lastSequence + 1) {
+                    if (!event.getOccurredAt().isBefore(gapDeadline)) {
+                        return;
+                    }
+                    log.debug("Skipping event log gap {}..{}", lastSequence + 1, event.getId() - 1);
+                }
+                Set<Long> moved = movedEntries.get(shard);
+                if (moved == null || !moved.remove(event.getId())) {
+                    apply(event);
+                }
+                lastSequence = event.getId();
+                lastSequences.put(shard, lastSequence);
+            }
+            // Copies of a move that rolled back never show up; forget them once passed
+            Set<Long> moved = movedEntries.get(shard);
+            if (moved != null && lastSequence != null) {
+                long passed = lastSequence;
+                moved.removeIf(id -> id <= passed);
+            }
+            if (events.size() < batchSize) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Last entry applied from the shard, 0 before the first
+     */
+    public synchronized long appliedThrough(String shard) {
+        return lastSequences.getOrDefault(shard, 0L);
+    }
+    
+    /**
+     * Pass over entries that a shard move copied to the shard; see OrganizationShardMover
+     */
+    public synchronized void skipMovedEntries(String shard, Collection<Long> ids) {
+        movedEntries.computeIfAbsent(shard, s -> new HashSet<>()).addAll(ids);
+    }
+    
+    public synchronized OrganizationStatsDto getOrganizationStats(Long organizationId) {
+        OrganizationProjection projection = organizations.getOrDefault(organizationId, new OrganizationProjection());
+        return OrganizationStatsDto.builder()
+                .organizationId(organizationId)
+                .memberCount(projection.members)
+                .activeMemberCount(projection.activeMembers)
+                .pendingInvitationCount(projection.pendingInvitations)
+                .roleDistribution(new EnumMap<>(projection.roles))
+                .eventSequence(lastSequences.getOrDefault(ShardContext.current(), 0L))
+                .build();
+    }
+    
+    public synchronized VerificationFunnelDto getVerificationFunnel() {
+        return VerificationFunnelDto.builder()
+                .reached(new EnumMap<>(verificationsReached))
+                .current(new EnumMap<>(verificationsCurrent))
+                // Sequences of different shards are unrelated; their sum still grows with every entry applied
+                .eventSequence(lastSequences.values().stream().mapToLong(Long::longValue).sum())
+                .build();
+    }
+    
+    private void apply(DomainEventRecord event) {
+        switch (event.getAggregateType()) {
+            case USER -> applyUser(event);
+            case INVITATION -> applyInvitation(event);
+            case AADHAAR_VERIFICATION -> applyVerification(event);
+        }
+    }
+    
+    private void applyUser(DomainEventRecord event) {
+        OrganizationProjection projection = organizations.computeIfAbsent(
+                event.getOrganizationId(), id -> new OrganizationProjection());
+        if (event.getFromState() == null) {
+            projection.members++;
+        }
+        if (event.getToState() == null) {
+            projection.members--;
+        }
+        if (UserStatus.ACTIVE.name().equals(event.getFromState())) {
+            projection.activeMembers--;
+        }
+        if (UserStatus.ACTIVE.name().equals(event.getToState())) {
+            projection.activeMembers++;
+        }
+        if (event.getFromRole() != null) {
+            projection.roles.merge(UserRole.valueOf(event.getFromRole()), -1L, Long::sum);
+        }
+        if (event.getToRole() != null) {
+            projection.roles.merge(UserRole.valueOf(event.getToRole()), 1L, Long::sum);
+        }
+    }
+    
+    private void applyInvitation(DomainEventRecord event) {
+        OrganizationProjection projection = organizations.computeIfAbsent(
+                event.getOrganizationId(), id -> new OrganizationProjection());
+        if (InvitationStatus.PENDING.name().equals(event.getFromState())) {
+            projection.pendingInvitations--;
+        }
+        if (InvitationStatus.PENDING.name().equals(event.getToState())) {
+            projection.pendingInvitations++;
+        }
+    }
+    
+    private void applyVerification(DomainEventRecord event) {
+        if (event.getFromState() != null) {
+            verificationsCurrent.merge(AadhaarVerificationStatus.valueOf(event.getFromState()), -1L, Long::sum);
+        }
+        AadhaarVerificationStatus to = AadhaarVerificationStatus.valueOf(event.getToState());
+        verificationsCurrent.merge(to, 1L, Long::sum);
+        verificationsReached.merge(to, 1L, Long::sum);
+    }
+    
+    private static class OrganizationProjection {
+        private long members;
+        private long activeMembers;
+        private long pendingInvitations;
+        private final Map<UserRole, Long> roles = new EnumMap<>(UserRole.class);
+    }
+}
@@ -0,0 +1,112 @@
+package com.subscription.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit ids in the Snowflake layout: 41 bits of milliseconds since 2024-01-01,
+ * 10 bits of node id and 12 bits of sequence. Ids from one node always increase, which keeps
+ * inserts at the end of indexes. Generation is a compare-and-set on one counter, with no lock
+ * and no shared random source. When a millisecond's 4096 sequence numbers run out, or the
+ * clock steps back, the counter runs ahead of the clock until the clock catches up.
+ * The ids themselves are guessable; ids that name a resource to outside callers take
+ * nextUnguessableString, which adds a random suffix.
+ */
+@Component
+@Slf4j
+public class IdGenerator {
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Crockford base32, whose order matches the numeric order of the ids
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+    private static final int RANDOM_SUFFIX_LENGTH = 16;
+
+    private final long node;
+
+    // Milliseconds since the epoch shifted left by SEQUENCE_BITS, plus the sequence
+    private final AtomicLong state = new AtomicLong();
+
+    public IdGenerator(@Value("${app.id.node-id:-1}") long nodeId, Environment environment) {
+        if (nodeId == -1) {
+            // A derived node id can collide with another node's, so production must configure one
+            if (environment.acceptsProfiles(Profiles.of("prod"))) {
+                throw new IllegalStateException("app.id.node-id must be set explicitly in the prod profile");
+            }
+            this.node = derivedNodeId();
+        } else if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalStateException("app.id.node-id must be between 0 and " + MAX_NODE + ", was " + nodeId);
+        } else {
+            this.node = nodeId;
+        }
+        log.info("Generating ids as node {}", node);
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                        | node << SEQUENCE_BITS
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * The next id as 13 characters of Crockford base32; sorts the same way as the number
+     */
+    public String nextString() {
+        return new String(encode(nextId(), 0));
+    }
+
+    /**
+     * The next id as in nextString, followed by 80 random bits as 16 more characters. Still
+     * sorted by time, but knowing one id does not reveal the next.
+     */
+    public String nextUnguessableString() {
+        char[] chars = encode(nextId(), RANDOM_SUFFIX_LENGTH);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = ENCODED_LENGTH; i < chars.length; i++) {
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+
+    private static char[] encode(long id, int extraLength) {
+        char[] chars = new char[ENCODED_LENGTH + extraLength];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return chars;
+    }
+
+    /**
+     * Node id from host name and process id, for deployments that do not configure one
+     */
+    private static long derivedNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        return (host + "/" + ProcessHandle.current().pid()).hashCode() & MAX_NODE;
+    }
+}
@@ -0,0 +1,213 @@
+package com.subscription.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscription.dto.ApiResponse;
+import com.subscription.exception.ErrorCode;
+import com.subscription.exception.InvalidOperationException;
+import com.subscription.model.IdempotencyRecord;
+import com.subscription.model.IdempotencyStatus;
+import com.subscription.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Deduplicates client retries carrying an Idempotency-Key header. The first request reserves its
+ * key with an IN_PROGRESS row in idempotency_keys; a duplicate arriving while it runs gets a 409
+ * instead of executing a second time. Completed responses are kept in a bounded in-memory map and
+ * in the same row, so a retry is answered from memory when possible and with a single primary-key
+ * lookup otherwise. Requests are identified by a salted hash, and callers store only the part of a
+ * response that a replay needs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final VerificationResultCache verificationResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardJobRunner shardJobRunner;
+
+    @Value("${app.idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${app.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.idempotency.in-progress-seconds:120}")
+    private long inProgressSeconds;
+
+    private final Map<String, CachedResponse> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Reserve a key for a request, or return the stored response when the key has already
+     * completed. Throws if the key is in use by a running request or was used for a different one.
+     * A caller that gets an empty result must call {@link #complete} when it is done.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<ResponseEntity<ApiResponse<T>>> begin(String scope, String key, Object request,
+                                                             TypeReference<ApiResponse<T>> responseType) {
+        String cacheKey = cacheKey(scope, key);
+        String fingerprint = fingerprint(request);
+
+        CachedResponse cached;
+        synchronized (cache) {
+            cached = cache.get(cacheKey);
+            if (cached != null && cached.isExpired()) {
+                cache.remove(cacheKey);
+                cached = null;
+            }
+        }
+
+        if (cached == null) {
+            if (reserve(cacheKey, fingerprint)) {
+                return Optional.empty();
+            }
+            IdempotencyRecord record = idempotencyRecordRepository.findById(cacheKey)
+                    .orElseThrow(() -> inProgress());
+            if (!record.getRequestFingerprint().equals(fingerprint)) {
+                throw new InvalidOperationException("Idempotency-Key has already been used for a different request");
+            }
+            if (record.getStatus() != IdempotencyStatus.COMPLETED) {
+                throw inProgress();
+            }
+            cached = toCachedResponse(record, responseType).orElseThrow(() -> inProgress());
+            synchronized (cache) {
+                cache.put(cacheKey, cached);
+            }
+        }
+
+        if (!cached.fingerprint().equals(fingerprint)) {
+            throw new InvalidOperationException("Idempotency-Key has already been used for a different request");
+        }
+
+        log.debug("Replaying stored response for idempotency key: {}", cacheKey);
+        return Optional.of(ResponseEntity.status(cached.httpStatus()).body((ApiResponse<T>) cached.body()));
+    }
+
+    /**
+     * Finish a reserved key. A successful response is stored for replay; anything else, including
+     * a null response after an exception, releases the key so that the client can retry.
+     */
+    public void complete(String scope, String key, Object request, ResponseEntity<? extends ApiResponse<?>> response) {
+        String cacheKey = cacheKey(scope, key);
+        if (response == null || !response.getStatusCode().is2xxSuccessful()) {
+            release(cacheKey);
+            return;
+        }
+
+        String fingerprint = fingerprint(request);
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(ttlMinutes);
+        CachedResponse cached = new CachedResponse(fingerprint, response.getStatusCode().value(), response.getBody(), expiresAt);
+
+        synchronized (cache) {
+            cache.put(cacheKey, cached);
+        }
+
+        try {
+            String body = objectMapper.writeValueAsString(response.getBody());
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.complete(
+                    cacheKey, IdempotencyStatus.COMPLETED, cached.httpStatus(), body, expiresAt));
+        } catch (Exception e) {
+            // The in-memory entry still covers retries reaching this instance
+            log.warn("Failed to persist idempotency key {}: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            cache.values().removeIf(CachedResponse::isExpired);
+        }
+        shardJobRunner.forEachShard("Idempotency key purge", () -> {
+            Integer removed = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(now));
+            if (removed != null && removed > 0) {
+                log.info("Purged {} expired idempotency keys", removed);
+            }
+        });
+    }
+
+    /**
+     * Insert the IN_PROGRESS row for a key. An expired row, such as one left behind by a node
+     * that died mid-request, is replaced.
+     */
+    private boolean reserve(String cacheKey, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(inProgressSeconds);
+        try {
+            Integer inserted = transactionTemplate.execute(status -> {
+                idempotencyRecordRepository.deleteIfExpired(cacheKey, now);
+                return idempotencyRecordRepository.insertIfAbsent(cacheKey, fingerprint, now, expiresAt);
+            });
+            return inserted != null && inserted > 0;
+        } catch (DataIntegrityViolationException e) {
+            // Another request inserted the same key between the check and the insert
+            return false;
+        }
+    }
+
+    private void release(String cacheKey) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.deleteByKeyAndStatus(cacheKey, IdempotencyStatus.IN_PROGRESS));
+        } catch (Exception e) {
+            // The reservation expires on its own after app.idempotency.in-progress-seconds
+            log.warn("Failed to release idempotency key {}: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    private <T> Optional<CachedResponse> toCachedResponse(IdempotencyRecord record, TypeReference<ApiResponse<T>> responseType) {
+        try {
+            ApiResponse<T> body = objectMapper.readValue(record.getResponseBody(), responseType);
+            return Optional.of(new CachedResponse(record.getRequestFingerprint(), record.getHttpStatus(), body, record.getExpiresAt()));
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable stored response for idempotency key {}: {}", record.getKey(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static InvalidOperationException inProgress() {
+        return new InvalidOperationException(ErrorCode.REQUEST_IN_PROGRESS,
+                "A request with this Idempotency-Key is still in progress");
+    }
+
+    private String cacheKey(String scope, String key) {
+        return scope + ":" + key;
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return verificationResultCache.fingerprint(objectMapper.writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to fingerprint request", e);
+        }
+    }
+
+    private record CachedResponse(String fingerprint, int httpStatus, ApiResponse<?> body, LocalDateTime expiresAt) {
+        boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiresAt);
+        }
+    }
+}
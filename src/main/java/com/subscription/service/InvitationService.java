@@ -1,23 +1,34 @@
 package com.subscription.service;
 
 import com.subscription.dto.InviteUserRequest;
+import com.subscription.dto.OrganizationEvent;
+import com.subscription.exception.ErrorCode;
 import com.subscription.exception.InvalidOperationException;
 import com.subscription.exception.UnauthorizedException;
 import com.subscription.model.*;
 import com.subscription.repository.InvitationRepository;
+import com.subscription.repository.OrganizationRepository;
 import com.subscription.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +39,13 @@ public class InvitationService {
     private final InvitationRepository invitationRepository;
     private final UserRepository userRepository;
     private final JavaMailSender mailSender;
+    private final OrganizationVersionService organizationVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvitationTokenService invitationTokenService;
+    private final OrganizationRepository organizationRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardJobRunner shardJobRunner;
     
     @Value("${app.invitation.expiration-hours:24}")
     private int invitationExpirationHours;
@@ -66,6 +84,10 @@ public class InvitationService {
                 .build();
         
         Invitation savedInvitation = invitationRepository.save(invitation);
+        // The signed token needs the generated id; the change is flushed with the insert's transaction
+        savedInvitation.setToken(invitationTokenService.issue(savedInvitation));
+        organizationVersionService.bump(currentUser.getOrganization().getId());
+        eventPublisher.publishEvent(OrganizationEvent.forInvitation(OrganizationEventType.INVITATION_CREATED, savedInvitation));
         
         // Send invitation email
         sendInvitationEmail(savedInvitation);
@@ -96,42 +118,63 @@ public class InvitationService {
         
         invitation.setStatus(InvitationStatus.CANCELLED);
         invitationRepository.save(invitation);
+        organizationVersionService.bump(invitation.getOrganization().getId());
+        eventPublisher.publishEvent(OrganizationEvent.forInvitation(OrganizationEventType.INVITATION_CANCELLED, invitation));
         
         log.info("Invitation cancelled: {} by user: {}", invitation.getEmail(), currentUser.getEmail());
     }
     
     public Invitation getInvitationByToken(String token) {
-        return invitationRepository.findByToken(token)
-                .orElseThrow(() -> new InvalidOperationException("Invalid invitation token"));
+        // Bad signatures and expired tokens are rejected before any query
+        InvitationTokenService.InvitationClaims claims = invitationTokenService.verify(token);
+        return invitationRepository.findById(claims.invitationId())
+                .filter(invitation -> invitation.getOrganization().getId().equals(claims.organizationId()))
+                .filter(invitation -> token.equals(invitation.getToken()))
+                .orElseThrow(() -> new InvalidOperationException(ErrorCode.INVALID_INVITATION_TOKEN, "Invalid invitation token"));
     }
     
+    /**
+     * Accept an invitation and create its user. The password is hashed before the transaction
+     * starts; inside it, a conditional update claims the invitation, so of two concurrent accepts
+     * only one creates a user.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void acceptInvitation(String token, String username, String password) {
         Invitation invitation = getInvitationByToken(token);
         
         if (!invitation.isValid()) {
-            throw new InvalidOperationException("Invitation is not valid or has expired");
+            throw new InvalidOperationException(ErrorCode.INVITATION_NO_LONGER_VALID, "Invitation is not valid or has expired");
         }
         
-        // Create new user
-        User newUser = User.builder()
-                .username(username)
-                .email(invitation.getEmail())
-                .firstName(invitation.getFirstName())
-                .lastName(invitation.getLastName())
-                .role(invitation.getRole())
-                .organization(invitation.getOrganization())
-                .status(UserStatus.ACTIVE)
-                .build();
-        
-        // Save user (password will be encoded in UserService)
-        userRepository.save(newUser);
+        String encodedPassword = passwordEncoder.encode(password);
+        Long organizationId = invitation.getOrganization().getId();
         
-        // Mark invitation as accepted
-        invitation.setStatus(InvitationStatus.ACCEPTED);
-        invitation.setAcceptedAt(LocalDateTime.now());
-        invitationRepository.save(invitation);
+        User newUser = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (invitationRepository.claimPending(invitation.getId(), now) == 0) {
+                throw new InvalidOperationException(ErrorCode.INVITATION_NO_LONGER_VALID, "Invitation is not valid or has expired");
+            }
+            invitation.setStatus(InvitationStatus.ACCEPTED);
+            invitation.setAcceptedAt(now);
+            
+            User user = userRepository.save(User.builder()
+                    .username(username)
+                    .email(invitation.getEmail())
+                    .password(encodedPassword)
+                    .firstName(invitation.getFirstName())
+                    .lastName(invitation.getLastName())
+                    .role(invitation.getRole())
+                    .organization(organizationRepository.getReferenceById(organizationId))
+                    .status(UserStatus.ACTIVE)
+                    .build());
+            
+            organizationVersionService.bump(organizationId);
+            eventPublisher.publishEvent(OrganizationEvent.forInvitation(OrganizationEventType.INVITATION_ACCEPTED, invitation));
+            eventPublisher.publishEvent(OrganizationEvent.forUser(OrganizationEventType.USER_CREATED, user));
+            return user;
+        });
         
-        log.info("Invitation accepted: {} by user: {}", invitation.getEmail(), username);
+        log.info("Invitation accepted: {} by user: {}", invitation.getEmail(), newUser.getUsername());
     }
     
     private void sendInvitationEmail(Invitation invitation) {
@@ -166,15 +209,29 @@ public class InvitationService {
         }
     }
     
+    // Also at startup, so invitations whose tokens predate signing stop blocking new ones at once
+    @EventListener(ApplicationReadyEvent.class)
     @Scheduled(cron = "0 0 * * * *") // Run every hour
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void expireOldInvitations() {
+        // One transaction per shard, started only once the shard is bound
+        shardJobRunner.forEachShard("Invitation expiry",
+                () -> transactionTemplate.executeWithoutResult(status -> expireOldInvitationsOfShard()));
+    }
+    
+    private void expireOldInvitationsOfShard() {
         LocalDateTime now = LocalDateTime.now();
-        List<Invitation> expiredInvitations = invitationRepository.findExpiredInvitations(now);
+        List<Invitation> expiredInvitations = invitationRepository.findExpiredInvitations(
+                now, InvitationTokenService.TOKEN_LENGTH);
         
+        Set<Long> changedOrganizationIds = new HashSet<>();
         for (Invitation invitation : expiredInvitations) {
             invitation.setStatus(InvitationStatus.EXPIRED);
             invitationRepository.save(invitation);
+            changedOrganizationIds.add(invitation.getOrganization().getId());
+            eventPublisher.publishEvent(OrganizationEvent.forInvitation(OrganizationEventType.INVITATION_EXPIRED, invitation));
             log.info("Expired invitation: {}", invitation.getEmail());
         }
+        changedOrganizationIds.forEach(organizationVersionService::bump);
     }
-} 
\ No newline at end of file
+} 
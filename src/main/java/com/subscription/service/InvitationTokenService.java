@@ -0,0 +1,93 @@
+package com.subscription.service;
+
+import com.subscription.exception.ErrorCode;
+import com.subscription.exception.InvalidOperationException;
+import com.subscription.model.Invitation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Issues and checks self-validating invitation tokens. A token is the invitation id,
+ * organization id and expiry, followed by an HMAC-SHA256 over them, in base64url. Malformed,
+ * tampered and expired tokens are rejected here without touching the database, and valid
+ * ones name the invitation's primary key.
+ */
+@Service
+public class InvitationTokenService {
+
+    private static final int PAYLOAD_LENGTH = 3 * Long.BYTES;
+    private static final int MAC_LENGTH = 32;
+    // Every signed token has this length; stored tokens of any other length predate signing
+    public static final int TOKEN_LENGTH = (int) Math.ceil((PAYLOAD_LENGTH + MAC_LENGTH) * 4 / 3.0);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${app.invitation.token-secret}")
+    private String tokenSecret;
+
+    public String issue(Invitation invitation) {
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_LENGTH + MAC_LENGTH)
+                .putLong(invitation.getId())
+                .putLong(invitation.getOrganization().getId())
+                .putLong(invitation.getExpiresAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+        payload.put(mac(payload.array(), PAYLOAD_LENGTH));
+        return ENCODER.encodeToString(payload.array());
+    }
+
+    /**
+     * Verify the signature and expiry of a token and return what it names
+     */
+    public InvitationClaims verify(String token) {
+        if (token == null || token.length() != TOKEN_LENGTH) {
+            throw new InvalidOperationException(ErrorCode.INVALID_INVITATION_TOKEN, "Invalid invitation token");
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException(ErrorCode.INVALID_INVITATION_TOKEN, "Invalid invitation token");
+        }
+
+        byte[] expected = mac(bytes, PAYLOAD_LENGTH);
+        byte[] presented = Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, PAYLOAD_LENGTH + MAC_LENGTH);
+        if (!MessageDigest.isEqual(expected, presented)) {
+            throw new InvalidOperationException(ErrorCode.INVALID_INVITATION_TOKEN, "Invalid invitation token");
+        }
+
+        ByteBuffer payload = ByteBuffer.wrap(bytes, 0, PAYLOAD_LENGTH);
+        long invitationId = payload.getLong();
+        long organizationId = payload.getLong();
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochSecond(payload.getLong()), ZoneId.systemDefault());
+        if (LocalDateTime.now().isAfter(expiresAt)) {
+            throw new InvalidOperationException(ErrorCode.INVITATION_NO_LONGER_VALID, "Invitation is not valid or has expired");
+        }
+        return new InvitationClaims(invitationId, organizationId, expiresAt);
+    }
+
+    private byte[] mac(byte[] data, int length) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(tokenSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            mac.update(data, 0, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign invitation token", e);
+        }
+    }
+
+    public record InvitationClaims(Long invitationId, Long organizationId, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.subscription.service;
+
+import com.subscription.config.ShardContext;
+import com.subscription.model.User;
+import com.subscription.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds successful authentications to UserActivityRecorder. When the principal is a user entity
+ * its id is used directly; otherwise the user is looked up by the authenticated name, and
+ * principals that are not users of this service are ignored. Authentication runs before the
+ * request is routed, so with the sharded profile the login is recorded against the shard of
+ * the user's organization.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginActivityListener {
+
+    private final UserActivityRecorder userActivityRecorder;
+    private final UserRepository userRepository;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        Authentication authentication = event.getAuthentication();
+        User user = authentication.getPrincipal() instanceof User principal && principal.getId() != null
+                ? principal
+                : userRepository.findByUsername(authentication.getName()).orElse(null);
+        if (user == null) {
+            return;
+        }
+
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        if (directory != null && user.getOrganization() != null) {
+            ShardContext.runIn(directory.shardFor(user.getOrganization().getId()),
+                    () -> userActivityRecorder.recordLogin(user.getId()));
+        } else {
+            userActivityRecorder.recordLogin(user.getId());
+        }
+    }
+}
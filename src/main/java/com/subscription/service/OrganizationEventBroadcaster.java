@@ -0,0 +1,162 @@
+package com.subscription.service;
+
+import com.subscription.dto.OrganizationEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed organization changes to SSE subscribers. Publishing only enqueues into each
+ * subscriber's bounded buffer; delivery happens on a separate pool, and a subscriber whose buffer
+ * overflows is disconnected instead of slowing down the write path or other subscribers.
+ */
+@Service
+@Slf4j
+public class OrganizationEventBroadcaster {
+    
+    private static final Object HEARTBEAT = new Object();
+    
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    
+    @Value("${app.events.buffer-size:256}")
+    private int bufferSize;
+    
+    @Value("${app.events.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    @Value("${app.events.delivery-threads:4}")
+    private int deliveryThreads;
+    
+    private ExecutorService deliveryExecutor;
+    
+    @PostConstruct
+    void startDelivery() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "org-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        deliveryExecutor = Executors.newFixedThreadPool(deliveryThreads, threadFactory);
+    }
+    
+    @PreDestroy
+    void stopDelivery() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::complete));
+        deliveryExecutor.shutdown();
+    }
+    
+    public SseEmitter subscribe(Long organizationId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(organizationId, emitter);
+        
+        subscribers.computeIfAbsent(organizationId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        
+        log.debug("New event subscriber for organization: {}", organizationId);
+        return emitter;
+    }
+    
+    /**
+     * Runs after the publishing transaction commits, so rolled back changes are never announced
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationEvent(OrganizationEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.getOrganizationId());
+        if (targets != null) {
+            targets.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+    
+    /**
+     * Reads no database; subscribers of all shards are held here, so one run reaches them all
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:30000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+    
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.organizationId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+    
+    private class Subscriber {
+        
+        private final Long organizationId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        Subscriber(Long organizationId, SseEmitter emitter) {
+            this.organizationId = organizationId;
+            this.emitter = emitter;
+        }
+        
+        void offer(Object item) {
+            if (!buffer.offer(item)) {
+                log.warn("Disconnecting slow event subscriber for organization: {}", organizationId);
+                remove(this);
+                complete();
+                return;
+            }
+            scheduleDrain();
+        }
+        
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            try {
+                Object item;
+                while ((item = buffer.poll()) != null) {
+                    if (item == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        OrganizationEvent event = (OrganizationEvent) item;
+                        emitter.send(SseEmitter.event().name(event.getType().name()).data(event));
+                    }
+                }
+            } catch (Exception e) {
+                log.debug("Event subscriber for organization {} went away: {}", organizationId, e.getMessage());
+                buffer.clear();
+                remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+                // An item may have been offered after the last poll
+                if (!buffer.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+        
+        void complete() {
+            buffer.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.subscription.service;
+
+import com.subscription.config.ShardRoutingDataSource;
+import com.subscription.config.ShardingProperties;
+import com.subscription.exception.InvalidOperationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves an organization and all of its rows to another shard while the service is running.
+ * Writes of the organization are paused for the duration of the copy and answered with 503;
+ * reads keep being served from the old shard. Once the copy has committed, the directory
+ * points at the new shard and the old rows are deleted.
+ * <p>
+ * Domain events get new ids on the target, after the events already there, so each shard's
+ * log stays in order. Before copying, the mover waits until the projector has applied the
+ * organization's events on the old shard, and the projector then passes over the copies.
+ */
+@Service
+@Profile("sharded")
+@RequiredArgsConstructor
+@Slf4j
+public class OrganizationShardMover {
+
+    private static final int COPY_BATCH_SIZE = 1000;
+
+    private static final String USERS_OF_ORGANIZATION = "user_id IN (SELECT id FROM users WHERE organization_id = ?)";
+
+    // Parents before children; deletes run in reverse
+    private static final List<TableSlice> ORGANIZATION_TABLES = List.of(
+            new TableSlice("organizations", "id = ?", false),
+            new TableSlice("users", "organization_id = ?", false),
+            new TableSlice("invitations", "organization_id = ?", false),
+            new TableSlice("aadhaar_verifications", USERS_OF_ORGANIZATION, false),
+            new TableSlice("aadhaar_verification_archive", USERS_OF_ORGANIZATION, false),
+            new TableSlice("domain_events", "organization_id = ?", true));
+
+    private static final String LAST_EVENT_OF_ORGANIZATION =
+            "SELECT COALESCE(MAX(id), 0) FROM domain_events WHERE organization_id = ?";
+
+    private final ShardDirectory shardDirectory;
+    private final ShardRoutingDataSource routingDataSource;
+    private final ShardingProperties properties;
+    private final DomainEventProjector domainEventProjector;
+
+    public synchronized void move(Long organizationId, String targetShard) {
+        if (!shardDirectory.shardNames().contains(targetShard)) {
+            throw new InvalidOperationException("Unknown shard: " + targetShard);
+        }
+        String sourceShard = shardDirectory.shardFor(organizationId);
+        if (sourceShard.equals(targetShard)) {
+            throw new InvalidOperationException("Organization " + organizationId + " is already on shard " + targetShard);
+        }
+
+        DataSource source = routingDataSource.shardDataSource(sourceShard);
+        DataSource target = routingDataSource.shardDataSource(targetShard);
+        log.info("Moving organization {} from shard {} to {}", organizationId, sourceShard, targetShard);
+
+        try {
+            if (!shardDirectory.beginMove(organizationId, properties.getMoveDrainTimeoutMs())) {
+                throw new InvalidOperationException("Organization " + organizationId + " still has writes in progress");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidOperationException("Interrupted while pausing writes of organization " + organizationId);
+        }
+
+        try {
+            awaitProjected(organizationId, sourceShard, new JdbcTemplate(source));
+            new TransactionTemplate(new DataSourceTransactionManager(target)).executeWithoutResult(status -> {
+                JdbcTemplate targetJdbc = new JdbcTemplate(target);
+                long lastTargetEvent = targetJdbc.queryForObject(LAST_EVENT_OF_ORGANIZATION, Long.class, organizationId);
+                for (TableSlice table : ORGANIZATION_TABLES) {
+                    int copied = copy(table, organizationId, new JdbcTemplate(source), targetJdbc);
+                    log.debug("Copied {} rows of {} for organization {}", copied, table.name(), organizationId);
+                }
+                // Registered before commit, so the projector cannot read the copies first
+                domainEventProjector.skipMovedEntries(targetShard, targetJdbc.queryForList(
+                        "SELECT id FROM domain_events WHERE organization_id = ? AND id > ?",
+                        Long.class, organizationId, lastTargetEvent));
+            });
+            shardDirectory.completeMove(organizationId, targetShard);
+        } finally {
+            shardDirectory.endMove(organizationId);
+        }
+
+        // New requests already go to the target shard; the old copy is no longer read
+        List<TableSlice> reversed = new ArrayList<>(ORGANIZATION_TABLES);
+        Collections.reverse(reversed);
+        new TransactionTemplate(new DataSourceTransactionManager(source)).executeWithoutResult(status -> {
+            JdbcTemplate jdbc = new JdbcTemplate(source);
+            for (TableSlice table : reversed) {
+                jdbc.update("DELETE FROM " + table.name() + " WHERE " + table.condition(), organizationId);
+            }
+        });
+        log.info("Moved organization {} to shard {}", organizationId, targetShard);
+    }
+
+    /**
+     * Wait until the projector has applied every event of the organization on the source shard;
+     * writes are paused, so no new ones appear
+     */
+    private void awaitProjected(Long organizationId, String sourceShard, JdbcTemplate source) {
+        long lastEvent = source.queryForObject(LAST_EVENT_OF_ORGANIZATION, Long.class, organizationId);
+        long deadline = System.currentTimeMillis() + properties.getMoveProjectionTimeoutMs();
+        while (true) {
+            domainEventProjector.catchUp();
+            if (domainEventProjector.appliedThrough(sourceShard) >= lastEvent) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new InvalidOperationException("Events of organization " + organizationId + " are not projected yet");
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InvalidOperationException("Interrupted while projecting events of organization " + organizationId);
+            }
+        }
+    }
+
+    private int copy(TableSlice table, Long organizationId, JdbcTemplate source, JdbcTemplate target) {
+        List<Object[]> batch = new ArrayList<>(COPY_BATCH_SIZE);
+        String[] insertSql = new String[1];
+        List<Integer> copiedColumns = new ArrayList<>();
+        int[] copied = new int[1];
+
+        // Rows that get new ids are inserted in their original order
+        String order = table.freshIds() ? " ORDER BY id" : "";
+        source.query("SELECT * FROM " + table.name() + " WHERE " + table.condition() + order, rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            if (insertSql[0] == null) {
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    if (!(table.freshIds() && "id".equalsIgnoreCase(meta.getColumnName(i)))) {
+                        copiedColumns.add(i);
+                    }
+                }
+                List<String> names = new ArrayList<>(copiedColumns.size());
+                for (int column : copiedColumns) {
+                    names.add(meta.getColumnName(column));
+                }
+                insertSql[0] = "INSERT INTO " + table.name() + " (" + String.join(", ", names) + ") VALUES ("
+                        + String.join(", ", Collections.nCopies(names.size(), "?")) + ")";
+            }
+            Object[] row = new Object[copiedColumns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(copiedColumns.get(i));
+            }
+            batch.add(row);
+            if (batch.size() >= COPY_BATCH_SIZE) {
+                target.batchUpdate(insertSql[0], batch);
+                copied[0] += batch.size();
+                batch.clear();
+            }
+        }, organizationId);
+
+        if (!batch.isEmpty()) {
+            target.batchUpdate(insertSql[0], batch);
+            copied[0] += batch.size();
+        }
+        return copied[0];
+    }
+
+    /**
+     * Rows of one table that belong to the organization; with freshIds the target assigns new ids
+     */
+    private record TableSlice(String name, String condition, boolean freshIds) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.subscription.service;
+
+import com.subscription.repository.OrganizationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Per-organization data version used for conditional GETs. Mutations bump the version inside
+ * their own transaction, and reads compare it with If-None-Match before running any listing query.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrganizationVersionService {
+    
+    private final OrganizationRepository organizationRepository;
+    
+    /**
+     * Record a change to the organization's users or invitations
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long organizationId) {
+        if (organizationId != null) {
+            organizationRepository.incrementDataVersion(organizationId);
+        }
+    }
+    
+    /**
+     * Record a change to the given users, made without going through their organizations
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bumpForUsers(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            organizationRepository.incrementDataVersionOfUsers(userIds);
+        }
+    }
+    
+    /**
+     * Strong ETag for one representation of an organization-scoped resource, if the organization exists
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> etag(Long organizationId, String resource, String accept) {
+        return organizationRepository.findDataVersionById(organizationId)
+                .map(version -> "\"" + resource + "-" + organizationId + "-" + version + "-"
+                        + Integer.toHexString(Objects.hashCode(accept)) + "\"");
+    }
+}
@@ -0,0 +1,309 @@
+package com.subscription.service;
+
+import com.subscription.dto.AadhaarOtpRequest;
+import com.subscription.dto.AadhaarOtpVerifyRequest;
+import com.subscription.dto.AadhaarVerificationRequest;
+import com.subscription.dto.AadhaarVerificationResponse;
+import com.subscription.exception.InvalidOperationException;
+import com.subscription.model.AadhaarVerificationRecord;
+import com.subscription.model.AadhaarVerificationStatus;
+import com.subscription.repository.ReactiveAadhaarVerificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link AadhaarVerificationService}. Gateway calls go through
+ * {@link WebClient} and verification rows are persisted through R2DBC, so no request thread
+ * is parked while waiting on UIDAI or the database.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAadhaarVerificationService {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> GATEWAY_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient aadhaarWebClient;
+    private final ReactiveAadhaarVerificationRepository verificationRepository;
+    private final IdGenerator idGenerator;
+
+    @Value("${aadhaar.api.client-id}")
+    private String clientId;
+
+    @Value("${aadhaar.api.client-secret}")
+    private String clientSecret;
+
+    @Value("${aadhaar.api.app-id}")
+    private String appId;
+
+    @Value("${aadhaar.api.consent-text:Y}")
+    private String consentText;
+
+    /**
+     * Generate OTP for Aadhaar verification
+     */
+    public Mono<Map<String, String>> generateOtp(AadhaarOtpRequest request) {
+        log.info("Generating OTP for Aadhaar number: {}", maskAadhaar(request.getAadhaarNumber()));
+
+        AadhaarVerificationRecord verification = newRecord()
+                .aadhaarNumber(maskAadhaar(request.getAadhaarNumber()))
+                .transactionId(request.getTransactionId())
+                .status(AadhaarVerificationStatus.PENDING)
+                .verificationMethod("OTP")
+                .build();
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("uid", request.getAadhaarNumber());
+        payload.put("txnId", request.getTransactionId());
+        payload.put("consent", request.getConsent() != null ? request.getConsent() : consentText);
+        payload.put("purpose", request.getPurpose() != null ? request.getPurpose() : "Authentication");
+
+        return verificationRepository.save(verification)
+                .flatMap(saved -> callGateway("/v1/otp", payload)
+                        .map(body -> {
+                            Map<String, String> result = new HashMap<>();
+                            result.put("transactionId", request.getTransactionId());
+                            result.put("verificationId", saved.getVerificationId());
+                            result.put("status", "SUCCESS");
+                            result.put("message", "OTP sent successfully");
+
+                            log.info("OTP generated successfully for transaction: {}", request.getTransactionId());
+                            return result;
+                        })
+                        .switchIfEmpty(Mono.defer(() -> markFailed(saved, "Failed to generate OTP")
+                                .then(Mono.error(new InvalidOperationException("Failed to generate OTP"))))))
+                .onErrorMap(e -> !(e instanceof InvalidOperationException), e -> {
+                    log.error("Error generating OTP for Aadhaar: {}", maskAadhaar(request.getAadhaarNumber()), e);
+                    return new InvalidOperationException("Failed to generate OTP: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Verify OTP and get Aadhaar details
+     */
+    public Mono<AadhaarVerificationResponse> verifyOtp(AadhaarOtpVerifyRequest request) {
+        log.info("Verifying OTP for Aadhaar number: {}", maskAadhaar(request.getAadhaarNumber()));
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("uid", request.getAadhaarNumber());
+        payload.put("txnId", request.getTransactionId());
+        payload.put("otp", request.getOtp());
+
+        return verificationRepository.findByTransactionId(request.getTransactionId())
+                .switchIfEmpty(Mono.error(new InvalidOperationException("Verification record not found")))
+                .flatMap(verification -> {
+                    verification.setStatus(AadhaarVerificationStatus.IN_PROGRESS);
+                    return save(verification);
+                })
+                .flatMap(verification -> callGateway("/v1/otp/verify", payload)
+                        .flatMap(body -> {
+                            verification.setStatus(AadhaarVerificationStatus.SUCCESS);
+                            verification.setVerifiedAt(LocalDateTime.now());
+                            verification.setNameMatch("100");
+                            verification.setDobMatch("100");
+
+                            return save(verification).map(saved -> AadhaarVerificationResponse.builder()
+                                    .verified(true)
+                                    .verificationId(saved.getVerificationId())
+                                    .aadhaarNumber(maskAadhaar(request.getAadhaarNumber()))
+                                    .name((String) body.get("name"))
+                                    .dateOfBirth((String) body.get("dob"))
+                                    .gender((String) body.get("gender"))
+                                    .address((String) body.get("address"))
+                                    .photo((String) body.get("photo"))
+                                    .verifiedAt(saved.getVerifiedAt())
+                                    .verificationMethod("OTP")
+                                    .nameMatch("100")
+                                    .dobMatch("100")
+                                    .build());
+                        })
+                        .switchIfEmpty(Mono.defer(() -> markFailed(verification, "OTP verification failed")
+                                .then(Mono.error(new InvalidOperationException("OTP verification failed"))))))
+                .doOnNext(response -> log.info("Aadhaar verification successful for: {}",
+                        maskAadhaar(request.getAadhaarNumber())))
+                .onErrorResume(e -> {
+                    log.error("Error verifying OTP for Aadhaar: {}", maskAadhaar(request.getAadhaarNumber()), e);
+                    return Mono.just(AadhaarVerificationResponse.builder()
+                            .verified(false)
+                            .errorMessage("OTP verification failed: " + e.getMessage())
+                            .errorCode("OTP_VERIFICATION_FAILED")
+                            .verifiedAt(LocalDateTime.now())
+                            .build());
+                });
+    }
+
+    /**
+     * Basic Aadhaar verification (demo mode for development)
+     */
+    public Mono<AadhaarVerificationResponse> verifyAadhaar(AadhaarVerificationRequest request, Long userId) {
+        log.info("Verifying Aadhaar for user: {} with Aadhaar: {}", userId, maskAadhaar(request.getAadhaarNumber()));
+
+        AadhaarVerificationRecord verification = newRecord()
+                .aadhaarNumber(maskAadhaar(request.getAadhaarNumber()))
+                .userId(userId)
+                .status(AadhaarVerificationStatus.IN_PROGRESS)
+                .verificationMethod("DEMO")
+                .build();
+
+        return verificationRepository.save(verification)
+                // Simulate API call delay without holding a thread
+                .delayElement(Duration.ofSeconds(1))
+                .flatMap(saved -> {
+                    if (!request.getAadhaarNumber().matches("^[0-9]{12}$")) {
+                        return markFailed(saved, "Invalid Aadhaar number format")
+                                .then(Mono.error(new InvalidOperationException("Invalid Aadhaar number format")));
+                    }
+
+                    if (!simulateVerification(request)) {
+                        return markFailed(saved, "Aadhaar verification failed")
+                                .thenReturn(AadhaarVerificationResponse.builder()
+                                        .verified(false)
+                                        .errorMessage("Aadhaar verification failed")
+                                        .errorCode("VERIFICATION_FAILED")
+                                        .verifiedAt(LocalDateTime.now())
+                                        .build());
+                    }
+
+                    saved.setStatus(AadhaarVerificationStatus.SUCCESS);
+                    saved.setVerifiedAt(LocalDateTime.now());
+                    saved.setNameMatch("100");
+                    saved.setDobMatch("100");
+
+                    return save(saved).map(done -> AadhaarVerificationResponse.builder()
+                            .verified(true)
+                            .verificationId(done.getVerificationId())
+                            .aadhaarNumber(done.getAadhaarNumber())
+                            .name(request.getName())
+                            .dateOfBirth(request.getDateOfBirth())
+                            .gender(request.getGender())
+                            .address(request.getAddress())
+                            .verifiedAt(done.getVerifiedAt())
+                            .verificationMethod("DEMO")
+                            .nameMatch("100")
+                            .dobMatch("100")
+                            .build());
+                })
+                .onErrorMap(e -> !(e instanceof InvalidOperationException), e -> {
+                    log.error("Error verifying Aadhaar for user: {}", userId, e);
+                    return new InvalidOperationException("Aadhaar verification failed: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Get verification history for a user
+     */
+    public Flux<AadhaarVerificationResponse> getVerificationHistory(Long userId) {
+        return verificationRepository.findByUserId(userId).map(this::toVerificationResponse);
+    }
+
+    /**
+     * Get verification by ID
+     */
+    public Mono<AadhaarVerificationResponse> getVerificationById(String verificationId) {
+        return verificationRepository.findByVerificationId(verificationId)
+                .switchIfEmpty(Mono.error(new InvalidOperationException("Verification not found")))
+                .map(this::toVerificationResponse);
+    }
+
+    /**
+     * Generate a transaction ID for Aadhaar operations: time-ordered, with a random suffix so
+     * that transaction ids cannot be enumerated
+     */
+    public String generateTransactionId() {
+        return "TXN_" + idGenerator.nextUnguessableString();
+    }
+
+    /**
+     * POST to the gateway; an empty Mono means a non-2xx status or an empty body
+     */
+    private Mono<Map<String, Object>> callGateway(String path, Map<String, Object> payload) {
+        return aadhaarWebClient.post()
+                .uri(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this::applyAuthHeaders)
+                .bodyValue(payload)
+                .exchangeToMono(response -> response.statusCode().is2xxSuccessful()
+                        ? response.bodyToMono(GATEWAY_RESPONSE)
+                        : response.releaseBody().then(Mono.empty()));
+    }
+
+    private Mono<AadhaarVerificationRecord> markFailed(AadhaarVerificationRecord verification, String errorMessage) {
+        verification.setStatus(AadhaarVerificationStatus.FAILED);
+        verification.setErrorMessage(errorMessage);
+        return save(verification);
+    }
+
+    private Mono<AadhaarVerificationRecord> save(AadhaarVerificationRecord verification) {
+        verification.setUpdatedAt(LocalDateTime.now());
+        return verificationRepository.save(verification);
+    }
+
+    private AadhaarVerificationRecord.AadhaarVerificationRecordBuilder newRecord() {
+        LocalDateTime now = LocalDateTime.now();
+        return AadhaarVerificationRecord.builder()
+                .verificationId(idGenerator.nextUnguessableString())
+                .createdAt(now)
+                .updatedAt(now);
+    }
+
+    /**
+     * Mask Aadhaar number for logging (show only first 4 and last 4 digits)
+     */
+    private String maskAadhaar(String aadhaarNumber) {
+        if (aadhaarNumber == null || aadhaarNumber.length() < 8) {
+            return "****";
+        }
+        return aadhaarNumber.substring(0, 4) + "****" + aadhaarNumber.substring(aadhaarNumber.length() - 4);
+    }
+
+    /**
+     * Apply authentication headers for Aadhaar API
+     */
+    private void applyAuthHeaders(HttpHeaders headers) {
+        headers.set("X-Client-ID", clientId);
+        headers.set("X-Client-Secret", clientSecret);
+        headers.set("X-App-ID", appId);
+        headers.set("X-Timestamp", String.valueOf(System.currentTimeMillis()));
+    }
+
+    /**
+     * Simulate verification for demo purposes
+     */
+    private boolean simulateVerification(AadhaarVerificationRequest request) {
+        return request.getAadhaarNumber().length() == 12 &&
+               request.getName() != null &&
+               !request.getName().trim().isEmpty();
+    }
+
+    private AadhaarVerificationResponse toVerificationResponse(AadhaarVerificationRecord verification) {
+        return AadhaarVerificationResponse.builder()
+                .verified(verification.getStatus() == AadhaarVerificationStatus.SUCCESS)
+                .verificationId(verification.getVerificationId())
+                .aadhaarNumber(verification.getAadhaarNumber())
+                .verifiedAt(verification.getVerifiedAt())
+                .verificationMethod(verification.getVerificationMethod())
+                .nameMatch(verification.getNameMatch())
+                .dobMatch(verification.getDobMatch())
+                .faceScore(verification.getFaceScore())
+                .addressMatch(verification.getAddressMatch())
+                .errorMessage(verification.getErrorMessage())
+                .errorCode(verification.getErrorCode())
+                .build();
+    }
+}
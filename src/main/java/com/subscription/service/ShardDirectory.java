@@ -0,0 +1,124 @@
+package com.subscription.service;
+
+import com.subscription.config.ConsistentHashRing;
+import com.subscription.config.ShardRoutingDataSource;
+import com.subscription.config.ShardingProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which shard holds an organization. The consistent-hash ring gives the home shard;
+ * organizations moved elsewhere are listed in the organization_shards table on the default
+ * shard, and that table wins over the ring. Also tracks in-flight writes per organization so
+ * a move can pause them.
+ */
+@Service
+@Profile("sharded")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardDirectory {
+
+    private final ShardingProperties properties;
+    private final ShardRoutingDataSource routingDataSource;
+
+    private final Map<Long, String> overrides = new ConcurrentHashMap<>();
+    private final Set<Long> moving = ConcurrentHashMap.newKeySet();
+    private final Map<Long, AtomicInteger> writesInFlight = new ConcurrentHashMap<>();
+
+    private ConsistentHashRing ring;
+    private JdbcTemplate directoryJdbc;
+
+    @PostConstruct
+    void load() {
+        List<String> shards = shardNames();
+        ring = new ConsistentHashRing(shards, properties.getVirtualNodes());
+
+        directoryJdbc = new JdbcTemplate(routingDataSource.shardDataSource(defaultShard()));
+        directoryJdbc.execute("CREATE TABLE IF NOT EXISTS organization_shards " +
+                "(organization_id BIGINT PRIMARY KEY, shard VARCHAR(64) NOT NULL)");
+        directoryJdbc.query("SELECT organization_id, shard FROM organization_shards", rs -> {
+            overrides.put(rs.getLong("organization_id"), rs.getString("shard"));
+        });
+        log.info("Sharding across {} with {} moved organizations", shards, overrides.size());
+    }
+
+    public List<String> shardNames() {
+        return properties.getShards().stream()
+                .map(ShardingProperties.Shard::getName)
+                .collect(Collectors.toList());
+    }
+
+    public String defaultShard() {
+        return properties.getShards().get(0).getName();
+    }
+
+    public String shardFor(Long organizationId) {
+        String moved = overrides.get(organizationId);
+        return moved != null ? moved : ring.shardFor(organizationId);
+    }
+
+    /**
+     * Register a write for the organization; false while the organization is being moved
+     */
+    public boolean tryBeginWrite(Long organizationId) {
+        AtomicInteger counter = writesInFlight.computeIfAbsent(organizationId, id -> new AtomicInteger());
+        counter.incrementAndGet();
+        if (moving.contains(organizationId)) {
+            counter.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void endWrite(Long organizationId) {
+        AtomicInteger counter = writesInFlight.get(organizationId);
+        if (counter != null) {
+            counter.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stop new writes of the organization and wait for the running ones to finish
+     */
+    boolean beginMove(Long organizationId, long drainTimeoutMs) throws InterruptedException {
+        if (!moving.add(organizationId)) {
+            return false;
+        }
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        AtomicInteger counter = writesInFlight.computeIfAbsent(organizationId, id -> new AtomicInteger());
+        while (counter.get() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                moving.remove(organizationId);
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    void completeMove(Long organizationId, String shard) {
+        if (shard.equals(ring.shardFor(organizationId))) {
+            directoryJdbc.update("DELETE FROM organization_shards WHERE organization_id = ?", organizationId);
+            overrides.remove(organizationId);
+        } else {
+            directoryJdbc.update("MERGE INTO organization_shards (organization_id, shard) KEY (organization_id) VALUES (?, ?)",
+                    organizationId, shard);
+            overrides.put(organizationId, shard);
+        }
+    }
+
+    void endMove(Long organizationId) {
+        moving.remove(organizationId);
+    }
+}
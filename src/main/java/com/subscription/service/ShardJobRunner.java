@@ -0,0 +1,36 @@
+package com.subscription.service;
+
+import com.subscription.config.ShardContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs scheduled jobs once per shard with that shard bound, so they reach the organizations
+ * of every shard and not only those of the default one. Without the sharded profile there is
+ * one database and a job runs once, unbound.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShardJobRunner {
+
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+
+    public void forEachShard(String job, Runnable work) {
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        if (directory == null) {
+            work.run();
+            return;
+        }
+        for (String shard : directory.shardNames()) {
+            try {
+                ShardContext.runIn(shard, work);
+            } catch (RuntimeException e) {
+                // One failing shard must not hold the job back on the others
+                log.error("{} failed on shard {}", job, shard, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.subscription.service;
+
+import com.subscription.config.ShardContext;
+import com.subscription.config.ShardRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hibernate creates the schema on the default shard only; this creates it on the others.
+ * Every shard also gets its own range of identity values, so rows keep their ids when an
+ * organization moves between shards.
+ */
+@Service
+@Profile("sharded")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardSchemaInitializer {
+
+    private static final long IDS_PER_SHARD = 1_000_000_000_000L;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRoutingDataSource routingDataSource;
+    private final ShardDirectory shardDirectory;
+
+    @PostConstruct
+    void initializeShards() {
+        List<String> shards = shardDirectory.shardNames();
+        for (int i = 0; i < shards.size(); i++) {
+            String shard = shards.get(i);
+            if (i > 0) {
+                ShardContext.runIn(shard, () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                        .getSchemaManager()
+                        .exportMappedObjects(true));
+            }
+            offsetIdentities(shard, i * IDS_PER_SHARD + 1);
+        }
+    }
+
+    private void offsetIdentities(String shard, long start) {
+        if (start == 1) {
+            return;
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(routingDataSource.shardDataSource(shard));
+        List<Map<String, Object>> identityColumns = jdbc.queryForList(
+                "SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS " +
+                "WHERE TABLE_SCHEMA = 'PUBLIC' AND IS_IDENTITY = 'YES'");
+        for (Map<String, Object> column : identityColumns) {
+            jdbc.execute("ALTER TABLE " + column.get("TABLE_NAME") + " ALTER COLUMN " + column.get("COLUMN_NAME") +
+                    " RESTART WITH " + start);
+        }
+        log.info("Shard {}: {} identity columns start at {}", shard, identityColumns.size(), start);
+    }
+}
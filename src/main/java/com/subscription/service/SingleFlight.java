@@ -0,0 +1,50 @@
+package com.subscription.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. The first caller runs the
+ * supplier; callers arriving while it is in flight wait for and share its result or failure.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> owned = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, owned);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V result = call.get();
+            owned.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Waiters must never be left on a future that is not completed
+            owned.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, owned);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
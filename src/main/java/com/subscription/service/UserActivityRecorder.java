@@ -0,0 +1,166 @@
+package com.subscription.service;
+
+import com.subscription.config.ShardContext;
+import com.subscription.model.User;
+import com.subscription.repository.UserBatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for users' last login time. A login only updates an in-memory map, and
+ * repeated logins of one user collapse into one entry. A scheduled flush writes the entries in
+ * JDBC batches, bypassing the entity so updated_at is left alone. Writes per flush are bounded
+ * by the number of distinct users who logged in, not by the number of logins. Each flush bumps
+ * the data version of the organizations it touched, so ETagged user listings show the new
+ * times. Pending entries are flushed on shutdown; a crash loses at most one interval of login times.
+ * Each entry remembers the shard bound when the login was recorded and is written back there.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserActivityRecorder {
+
+    private final UserBatchWriter userBatchWriter;
+    private final OrganizationVersionService organizationVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.user-activity.batch-size:1000}")
+    private int batchSize;
+
+    private final Map<Long, Touch> pending = new ConcurrentHashMap<>();
+
+    private Counter flushedCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("user.activity.pending", pending, Map::size)
+                .description("Users with a login not yet written to the database")
+                .register(meterRegistry);
+        Gauge.builder("user.activity.lag", this, UserActivityRecorder::oldestPendingSeconds)
+                .description("Age of the oldest login not yet written to the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        flushedCounter = Counter.builder("user.activity.flushed")
+                .description("Last-login updates written to the database")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("user.activity.flush")
+                .description("Time to write one round of buffered logins")
+                .register(meterRegistry);
+    }
+
+    public void recordLogin(Long userId) {
+        recordLogin(userId, LocalDateTime.now());
+    }
+
+    public void recordLogin(Long userId, LocalDateTime at) {
+        pending.merge(userId, new Touch(at, System.nanoTime(), ShardContext.current()), Touch::coalesce);
+    }
+
+    /**
+     * The user's last login, including one that has not been flushed yet
+     */
+    public LocalDateTime lastLoginAt(User user) {
+        Touch touch = pending.get(user.getId());
+        if (touch == null) {
+            return user.getLastLoginAt();
+        }
+        LocalDateTime stored = user.getLastLoginAt();
+        return stored != null && stored.isAfter(touch.lastLoginAt()) ? stored : touch.lastLoginAt();
+    }
+
+    @Scheduled(fixedDelayString = "${app.user-activity.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushTimer.record(() -> {
+            // One batch per shard; the key is null without the sharded profile
+            Map<String, List<Map.Entry<Long, Touch>>> batches = new HashMap<>();
+            // Entries are removed before writing; logins arriving meanwhile start new entries
+            for (Long userId : pending.keySet()) {
+                Touch touch = pending.remove(userId);
+                if (touch == null) {
+                    continue;
+                }
+                List<Map.Entry<Long, Touch>> batch = batches.computeIfAbsent(touch.shard(), shard -> new ArrayList<>(batchSize));
+                batch.add(Map.entry(userId, touch));
+                if (batch.size() >= batchSize) {
+                    write(touch.shard(), batch);
+                    batch.clear();
+                }
+            }
+            batches.forEach(this::write);
+        });
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        log.info("Flushing {} buffered logins before shutdown", pending.size());
+        flush();
+    }
+
+    private void write(String shard, List<Map.Entry<Long, Touch>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, LocalDateTime>> logins = batch.stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().lastLoginAt()))
+                .toList();
+        Runnable writeLogins = () -> transactionTemplate.executeWithoutResult(status -> {
+            userBatchWriter.updateLastLoginAt(logins);
+            organizationVersionService.bumpForUsers(logins.stream().map(Map.Entry::getKey).toList());
+        });
+        try {
+            if (shard != null) {
+                ShardContext.runIn(shard, writeLogins);
+            } else {
+                writeLogins.run();
+            }
+            flushedCounter.increment(logins.size());
+        } catch (Exception e) {
+            // Put the entries back so the next flush retries them
+            log.error("Failed to write {} buffered logins; retrying on the next flush", logins.size(), e);
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Touch::coalesce));
+        }
+    }
+
+    private double oldestPendingSeconds() {
+        long now = System.nanoTime();
+        long oldest = now;
+        for (Touch touch : pending.values()) {
+            oldest = Math.min(oldest, touch.firstRecordedNanos());
+        }
+        return TimeUnit.NANOSECONDS.toMillis(now - oldest) / 1000.0;
+    }
+
+    private record Touch(LocalDateTime lastLoginAt, long firstRecordedNanos, String shard) {
+
+        // Keep the latest login, the time the oldest unflushed one was recorded and the latest shard
+        static Touch coalesce(Touch existing, Touch added) {
+            return new Touch(
+                    added.lastLoginAt().isAfter(existing.lastLoginAt()) ? added.lastLoginAt() : existing.lastLoginAt(),
+                    Math.min(existing.firstRecordedNanos(), added.firstRecordedNanos()),
+                    added.shard() != null ? added.shard() : existing.shard());
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.subscription.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscription.dto.CreateUserRequest;
+import com.subscription.dto.OrganizationEvent;
+import com.subscription.dto.UserProvisioningResult;
+import com.subscription.exception.InvalidOperationException;
+import com.subscription.model.Organization;
+import com.subscription.model.OrganizationEventType;
+import com.subscription.model.User;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import com.subscription.repository.OrganizationRepository;
+import com.subscription.repository.UserBatchWriter;
+import com.subscription.repository.UserRepository;
+import com.subscription.repository.UserRepository.UserIdentity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Creates users of one organization from a stream of records, e.g. a directory sync. Records
+ * are handled in chunks: one query finds emails and usernames already taken, passwords are
+ * hashed in parallel, and the new rows are inserted with a JDBC batch in one transaction.
+ * Each record gets its own result, so bad records fail alone.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserProvisioningService {
+
+    private final UserRepository userRepository;
+    private final OrganizationRepository organizationRepository;
+    private final UserBatchWriter userBatchWriter;
+    private final PasswordEncoder passwordEncoder;
+    private final OrganizationVersionService organizationVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.provisioning.chunk-size:500}")
+    private int chunkSize;
+
+    // 0 means one thread per available core
+    @Value("${app.provisioning.hash-threads:0}")
+    private int hashThreads;
+
+    private ExecutorService hashExecutor;
+
+    @PostConstruct
+    void startExecutor() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        hashExecutor = Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        hashExecutor.shutdown();
+    }
+
+    /**
+     * Provision users from NDJSON lines, one CreateUserRequest per line, passing each result to
+     * the sink on the calling thread
+     */
+    public void provision(Long organizationId, Iterator<String> lines, Consumer<UserProvisioningResult> sink) {
+        Organization organization = organizationRepository.findById(organizationId)
+                .orElseThrow(() -> new InvalidOperationException("Organization not found with id: " + organizationId));
+        log.info("Starting user provisioning for organization: {}", organization.getName());
+
+        // Emails and usernames accepted earlier in this stream
+        Set<String> claimedEmails = new HashSet<>();
+        Set<String> claimedUsernames = new HashSet<>();
+
+        List<PendingUser> chunk = new ArrayList<>();
+        int index = 0;
+        int created = 0;
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isBlank()) {
+                continue;
+            }
+            PendingUser pending = parse(index++, line, organizationId);
+            if (pending.errorMessage != null) {
+                sink.accept(pending.toResult());
+                continue;
+            }
+            if (!claimedEmails.add(pending.request.getEmail()) || !claimedUsernames.add(pending.request.getUsername())) {
+                pending.errorMessage = "Duplicate email or username within the request";
+                sink.accept(pending.toResult());
+                continue;
+            }
+            chunk.add(pending);
+            if (chunk.size() >= chunkSize) {
+                created += processChunk(organization, chunk, sink);
+                chunk.clear();
+            }
+        }
+        created += processChunk(organization, chunk, sink);
+
+        log.info("Finished user provisioning for organization {}: {} of {} records created",
+                organization.getName(), created, index);
+    }
+
+    private PendingUser parse(int index, String line, Long organizationId) {
+        PendingUser pending = new PendingUser(index);
+        try {
+            pending.request = objectMapper.readValue(line, CreateUserRequest.class);
+        } catch (JsonProcessingException e) {
+            pending.errorMessage = "Malformed record: " + e.getOriginalMessage();
+            return pending;
+        }
+        CreateUserRequest request = pending.request;
+        if (request.getOrganizationId() == null) {
+            request.setOrganizationId(organizationId);
+        }
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            pending.errorMessage = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        } else if (!organizationId.equals(request.getOrganizationId())) {
+            pending.errorMessage = "Record belongs to another organization";
+        }
+        return pending;
+    }
+
+    /**
+     * Create the users of one chunk and report them; returns how many were created
+     */
+    private int processChunk(Organization organization, List<PendingUser> chunk, Consumer<UserProvisioningResult> sink) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        // One query for every email and username of the chunk that is already taken
+        Set<String> emails = chunk.stream().map(p -> p.request.getEmail()).collect(Collectors.toSet());
+        Set<String> usernames = chunk.stream().map(p -> p.request.getUsername()).collect(Collectors.toSet());
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenUsernames = new HashSet<>();
+        for (UserIdentity existing : userRepository.findByEmailInOrUsernameIn(emails, usernames)) {
+            takenEmails.add(existing.getEmail());
+            takenUsernames.add(existing.getUsername());
+        }
+
+        List<PendingUser> accepted = new ArrayList<>();
+        for (PendingUser pending : chunk) {
+            if (takenEmails.contains(pending.request.getEmail())) {
+                pending.errorMessage = "User with this email already exists";
+            } else if (takenUsernames.contains(pending.request.getUsername())) {
+                pending.errorMessage = "User with this username already exists";
+            } else {
+                accepted.add(pending);
+            }
+        }
+
+        String persistError = null;
+        try {
+            List<User> users = toUsersWithHashedPasswords(organization, accepted);
+            transactionTemplate.executeWithoutResult(status -> insert(organization, users, accepted));
+        } catch (Exception e) {
+            log.error("Failed to provision {} users for organization {}", accepted.size(), organization.getId(), e);
+            persistError = "Failed to create user: " + e.getMessage();
+        }
+
+        int created = 0;
+        for (PendingUser pending : chunk) {
+            if (persistError != null && pending.errorMessage == null) {
+                pending.errorMessage = persistError;
+            }
+            if (pending.errorMessage == null) {
+                created++;
+            }
+            sink.accept(pending.toResult());
+        }
+        return created;
+    }
+
+    private List<User> toUsersWithHashedPasswords(Organization organization, List<PendingUser> accepted)
+            throws InterruptedException, ExecutionException {
+        List<Callable<String>> hashes = accepted.stream()
+                .map(pending -> (Callable<String>) () -> passwordEncoder.encode(pending.request.getPassword()))
+                .collect(Collectors.toList());
+        List<Future<String>> encoded = hashExecutor.invokeAll(hashes);
+
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            CreateUserRequest request = accepted.get(i).request;
+            users.add(User.builder()
+                    .username(request.getUsername())
+                    .email(request.getEmail())
+                    .password(encoded.get(i).get())
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .role(request.getRole() != null ? request.getRole() : UserRole.MEMBER)
+                    .status(request.getStatus() != null ? request.getStatus() : UserStatus.ACTIVE)
+                    .organization(organization)
+                    .build());
+        }
+        return users;
+    }
+
+    private void insert(Organization organization, List<User> users, List<PendingUser> accepted) {
+        if (users.isEmpty()) {
+            return;
+        }
+        userBatchWriter.insertAll(users);
+
+        // Batch inserts return no keys; read the new ids back in one query
+        Map<String, Long> idsByEmail = userRepository.findByEmailIn(
+                        users.stream().map(User::getEmail).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(UserIdentity::getEmail, UserIdentity::getId));
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            user.setId(idsByEmail.get(user.getEmail()));
+            accepted.get(i).userId = user.getId();
+        }
+
+        organizationVersionService.bump(organization.getId());
+        users.forEach(user -> eventPublisher.publishEvent(OrganizationEvent.forUser(OrganizationEventType.USER_CREATED, user)));
+    }
+
+    private static final class PendingUser {
+        private final int index;
+        private CreateUserRequest request;
+        private Long userId;
+        private String errorMessage;
+
+        PendingUser(int index) {
+            this.index = index;
+        }
+
+        UserProvisioningResult toResult() {
+            return UserProvisioningResult.builder()
+                    .index(index)
+                    .success(errorMessage == null)
+                    .userId(errorMessage == null ? userId : null)
+                    .username(request != null ? request.getUsername() : null)
+                    .email(request != null ? request.getEmail() : null)
+                    .errorMessage(errorMessage)
+                    .build();
+        }
+    }
+}
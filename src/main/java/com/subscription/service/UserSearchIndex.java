@@ -0,0 +1,302 @@
+package com.subscription.service;
+
+import com.subscription.dto.UserSearchHit;
+import com.subscription.dto.UserSearchPage;
+import com.subscription.exception.InvalidOperationException;
+import com.subscription.model.User;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import com.subscription.repository.OrganizationRepository;
+import com.subscription.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search over the users of an organization. Each organization gets a sorted term
+ * index over username, email, first and last name, built at one organizations.data_version.
+ * Every search compares that version with the current one and rebuilds the index when it has
+ * moved, so writes from other nodes, shard moves and JDBC batch writes are all picked up.
+ * Prefix lookups are a range scan of the sorted terms. Fuzzy lookups allow a bounded edit
+ * distance among terms sharing the first letter.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndex {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int FUZZY_SCORE = 1;
+
+    private final UserRepository userRepository;
+    private final OrganizationRepository organizationRepository;
+
+    private final Map<Long, OrganizationIndex> indexes = new ConcurrentHashMap<>();
+
+    public UserSearchPage search(Long organizationId, String query, boolean fuzzy, int page, int size) {
+        List<String> queryTerms = splitQuery(query);
+        if (queryTerms.isEmpty()) {
+            throw new InvalidOperationException("Search query must not be empty");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        // One primary-key read; the index is reused for as long as the version stands
+        long version = organizationRepository.findDataVersionById(organizationId).orElse(0L);
+        OrganizationIndex index = indexes.compute(organizationId, (id, current) ->
+                current != null && current.version == version ? current : loadIndex(id, version));
+        List<UserSearchHit> matches = index.search(queryTerms, fuzzy);
+
+        int from = Math.min(pageNumber * pageSize, matches.size());
+        int to = Math.min(from + pageSize, matches.size());
+        return UserSearchPage.builder()
+                .items(new ArrayList<>(matches.subList(from, to)))
+                .page(pageNumber)
+                .size(pageSize)
+                .totalMatches(matches.size())
+                .build();
+    }
+
+    private OrganizationIndex loadIndex(Long organizationId, long version) {
+        OrganizationIndex index = new OrganizationIndex(version);
+        List<User> users = userRepository.findByOrganizationId(organizationId);
+        for (User user : users) {
+            index.upsert(new IndexedUser(user.getId(), user.getUsername(), user.getEmail(),
+                    user.getFirstName(), user.getLastName(), user.getRole(), user.getStatus()));
+        }
+        log.info("Built search index for organization {} at version {} with {} users", organizationId, version, users.size());
+        return index;
+    }
+
+    private static List<String> splitQuery(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String term : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Terms a user is found by: each field whole and split on separators, plus the email's
+     * local part and domain
+     */
+    private static Set<String> termsOf(IndexedUser user) {
+        Set<String> terms = new HashSet<>();
+        addTerms(terms, user.username());
+        addTerms(terms, user.firstName());
+        addTerms(terms, user.lastName());
+        if (user.email() != null) {
+            String email = user.email().toLowerCase(Locale.ROOT);
+            terms.add(email);
+            int at = email.indexOf('@');
+            if (at > 0) {
+                addTerms(terms, email.substring(0, at));
+                terms.add(email.substring(at + 1));
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerms(Set<String> terms, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        terms.add(normalized);
+        for (String part : normalized.split("[\\s._+\\-]+")) {
+            if (!part.isEmpty()) {
+                terms.add(part);
+            }
+        }
+    }
+
+    private static int maxEdits(String term) {
+        return term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+    }
+
+    /**
+     * Levenshtein distance between a and b, or limit + 1 as soon as it must exceed limit
+     */
+    private static int boundedDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private record IndexedUser(Long id, String username, String email, String firstName, String lastName,
+                               UserRole role, UserStatus status) {
+    }
+
+    private static final class OrganizationIndex {
+
+        private static final Comparator<IndexedUser> TIE_BREAK = Comparator
+                .comparing((IndexedUser user) -> user.username() == null ? "" : user.username().toLowerCase(Locale.ROOT))
+                .thenComparing(IndexedUser::id);
+
+        // organizations.data_version the index was built at
+        private final long version;
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, IndexedUser> users = new HashMap<>();
+        private final Map<Long, Set<String>> termsByUser = new HashMap<>();
+        private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+
+        OrganizationIndex(long version) {
+            this.version = version;
+        }
+
+        void upsert(IndexedUser user) {
+            lock.writeLock().lock();
+            try {
+                removeTerms(user.id());
+                Set<String> terms = termsOf(user);
+                users.put(user.id(), user);
+                termsByUser.put(user.id(), terms);
+                for (String term : terms) {
+                    postings.computeIfAbsent(term, t -> new HashSet<>()).add(user.id());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeTerms(Long userId) {
+            Set<String> terms = termsByUser.remove(userId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Set<Long> ids = postings.get(term);
+                if (ids != null) {
+                    ids.remove(userId);
+                    if (ids.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Users matching every query term, best score first
+         */
+        List<UserSearchHit> search(List<String> queryTerms, boolean fuzzy) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Integer> scores = null;
+                for (String queryTerm : queryTerms) {
+                    Map<Long, Integer> termScores = scoreTerm(queryTerm, fuzzy);
+                    if (scores == null) {
+                        scores = termScores;
+                    } else {
+                        Map<Long, Integer> combined = new HashMap<>();
+                        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                            Integer score = termScores.get(entry.getKey());
+                            if (score != null) {
+                                combined.put(entry.getKey(), entry.getValue() + score);
+                            }
+                        }
+                        scores = combined;
+                    }
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+
+                Map<Long, Integer> finalScores = scores;
+                return finalScores.keySet().stream()
+                        .map(users::get)
+                        .sorted(Comparator.comparing((IndexedUser user) -> finalScores.get(user.id())).reversed()
+                                .thenComparing(TIE_BREAK))
+                        .map(user -> UserSearchHit.builder()
+                                .id(user.id())
+                                .username(user.username())
+                                .email(user.email())
+                                .firstName(user.firstName())
+                                .lastName(user.lastName())
+                                .role(user.role())
+                                .status(user.status())
+                                .score(finalScores.get(user.id()))
+                                .build())
+                        .toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Best score per user for one query term
+         */
+        private Map<Long, Integer> scoreTerm(String queryTerm, boolean fuzzy) {
+            Map<Long, Integer> scores = new HashMap<>();
+            for (Map.Entry<String, Set<Long>> entry : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                int score = entry.getKey().equals(queryTerm) ? EXACT_SCORE : PREFIX_SCORE;
+                for (Long userId : entry.getValue()) {
+                    scores.merge(userId, score, Math::max);
+                }
+            }
+
+            int limit = maxEdits(queryTerm);
+            if (!fuzzy || limit == 0) {
+                return scores;
+            }
+            // Typos rarely hit the first letter; only terms sharing it are compared
+            String firstLetter = queryTerm.substring(0, 1);
+            for (Map.Entry<String, Set<Long>> entry : postings.subMap(firstLetter, true, firstLetter + Character.MAX_VALUE, false).entrySet()) {
+                String term = entry.getKey();
+                // Compare against the term cut to the query length so partially typed words match too
+                String candidate = term.length() > queryTerm.length() + limit
+                        ? term.substring(0, queryTerm.length())
+                        : term;
+                if (boundedDistance(queryTerm, candidate, limit) <= limit) {
+                    for (Long userId : entry.getValue()) {
+                        scores.merge(userId, FUZZY_SCORE, Math::max);
+                    }
+                }
+            }
+            return scores;
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package com.subscription.service;
 
+import com.subscription.dto.BulkUserUpdateRequest;
+import com.subscription.dto.BulkUserUpdateResult;
+import com.subscription.dto.OrganizationEvent;
 import com.subscription.dto.UserDto;
 import com.subscription.dto.UpdateUserRoleRequest;
 import com.subscription.exception.UnauthorizedException;
 import com.subscription.exception.UserNotFoundException;
+import com.subscription.exception.ErrorCode;
 import com.subscription.exception.InvalidOperationException;
 import com.subscription.model.*;
 import com.subscription.repository.UserRepository;
 import com.subscription.repository.OrganizationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,9 +33,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserService {
     
+    private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+    
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final OrganizationVersionService organizationVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserActivityRecorder userActivityRecorder;
     
     public List<UserDto> getAllUsersInOrganization(Long organizationId) {
         List<User> users = userRepository.findByOrganizationId(organizationId);
@@ -68,6 +83,9 @@ public class UserService {
         // Update the role
         userToUpdate.setRole(newRole);
         User savedUser = userRepository.save(userToUpdate);
+        organizationVersionService.bump(savedUser.getOrganization().getId());
+        eventPublisher.publishEvent(OrganizationEvent.forUserChange(
+                OrganizationEventType.USER_ROLE_CHANGED, savedUser, oldRole, savedUser.getStatus()));
         
         log.info("User role updated: {} -> {} for user: {}", oldRole, newRole, userToUpdate.getEmail());
         
@@ -92,11 +110,13 @@ public class UserService {
         if (userToRemove.isAdmin() || userToRemove.isUnpaidAdmin()) {
             long adminCount = userRepository.countAdminsByOrganizationId(userToRemove.getOrganization().getId());
             if (adminCount <= 1) {
-                throw new InvalidOperationException("Cannot remove the last admin from the organization");
+                throw new InvalidOperationException(ErrorCode.LAST_ADMIN, "Cannot remove the last admin from the organization");
             }
         }
         
         userRepository.delete(userToRemove);
+        organizationVersionService.bump(userToRemove.getOrganization().getId());
+        eventPublisher.publishEvent(OrganizationEvent.forUser(OrganizationEventType.USER_REMOVED, userToRemove));
         log.info("User removed: {} by user: {}", userToRemove.getEmail(), currentUser.getEmail());
     }
     
@@ -115,6 +135,8 @@ public class UserService {
         }
         
         User savedUser = userRepository.save(user);
+        organizationVersionService.bump(savedUser.getOrganization().getId());
+        eventPublisher.publishEvent(OrganizationEvent.forUser(OrganizationEventType.USER_CREATED, savedUser));
         log.info("User created: {} in organization: {}", savedUser.getEmail(), savedUser.getOrganization().getName());
         
         return convertToDto(savedUser);
@@ -138,18 +160,116 @@ public class UserService {
         if ((userToUpdate.isAdmin() || userToUpdate.isUnpaidAdmin()) && status == UserStatus.INACTIVE) {
             long adminCount = userRepository.countAdminsByOrganizationId(userToUpdate.getOrganization().getId());
             if (adminCount <= 1) {
-                throw new InvalidOperationException("Cannot deactivate the last admin from the organization");
+                throw new InvalidOperationException(ErrorCode.LAST_ADMIN, "Cannot deactivate the last admin from the organization");
             }
         }
         
+        UserStatus oldStatus = userToUpdate.getStatus();
         userToUpdate.setStatus(status);
         User savedUser = userRepository.save(userToUpdate);
+        organizationVersionService.bump(savedUser.getOrganization().getId());
+        eventPublisher.publishEvent(OrganizationEvent.forUserChange(
+                OrganizationEventType.USER_STATUS_CHANGED, savedUser, savedUser.getRole(), oldStatus));
         
-        log.info("User status updated: {} -> {} for user: {}", userToUpdate.getStatus(), status, userToUpdate.getEmail());
+        log.info("User status updated: {} -> {} for user: {}", oldStatus, status, userToUpdate.getEmail());
         
         return convertToDto(savedUser);
     }
     
+    /**
+     * Change the role and/or status of many users at once. Permissions are checked per user
+     * and reported per user; the last-admin rule is checked once for the whole set, which is
+     * then written with one UPDATE per chunk.
+     */
+    public BulkUserUpdateResult bulkUpdateUsers(BulkUserUpdateRequest request, User currentUser) {
+        UserRole newRole = request.getRole();
+        UserStatus newStatus = request.getStatus();
+        if (newRole == null && newStatus == null) {
+            throw new InvalidOperationException("Either a role or a status is required");
+        }
+        if (currentUser.isUnpaidAdmin() && newRole == UserRole.ADMIN) {
+            throw new UnauthorizedException("Unpaid admin cannot promote users to admin role");
+        }
+        
+        Long organizationId = currentUser.getOrganization().getId();
+        List<Long> userIds = request.getUserIds().stream().distinct().collect(Collectors.toList());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        
+        Map<Long, BulkUserUpdateResult.ItemResult> results = new LinkedHashMap<>();
+        List<User> eligible = new ArrayList<>();
+        for (Long userId : userIds) {
+            User user = users.get(userId);
+            String error = null;
+            if (user == null) {
+                error = "User not found with id: " + userId;
+            } else if (!organizationId.equals(user.getOrganization().getId())) {
+                error = "User does not belong to the specified organization";
+            } else if (!currentUser.canManageUser(user)) {
+                error = "You don't have permission to manage this user";
+            }
+            
+            if (error != null) {
+                results.put(userId, BulkUserUpdateResult.ItemResult.builder()
+                        .userId(userId).success(false).errorMessage(error).build());
+            } else {
+                eligible.add(user);
+                results.put(userId, BulkUserUpdateResult.ItemResult.builder()
+                        .userId(userId).success(true).build());
+            }
+        }
+        
+        // Same rule as the single-user paths: demoting or deactivating an admin must leave one
+        long adminsAffected = eligible.stream()
+                .filter(user -> user.isAdmin() || user.isUnpaidAdmin())
+                .filter(user -> newRole == UserRole.MEMBER || newStatus == UserStatus.INACTIVE)
+                .count();
+        if (adminsAffected > 0 && userRepository.countAdminsByOrganizationId(organizationId) - adminsAffected < 1) {
+            throw new InvalidOperationException(ErrorCode.LAST_ADMIN, "Cannot demote or deactivate every admin of the organization");
+        }
+        
+        if (!eligible.isEmpty()) {
+            List<Long> eligibleIds = eligible.stream().map(User::getId).collect(Collectors.toList());
+            LocalDateTime now = LocalDateTime.now();
+            for (int from = 0; from < eligibleIds.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+                List<Long> chunk = eligibleIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, eligibleIds.size()));
+                if (newRole != null) {
+                    userRepository.updateRoleByIds(chunk, newRole, now);
+                }
+                if (newStatus != null) {
+                    userRepository.updateStatusByIds(chunk, newStatus, now);
+                }
+            }
+            
+            organizationVersionService.bump(organizationId);
+            // The bulk UPDATEs detached the loaded users; apply the change to the copies for the events
+            for (User user : eligible) {
+                UserRole oldRole = user.getRole();
+                UserStatus oldStatus = user.getStatus();
+                if (newRole != null) {
+                    user.setRole(newRole);
+                }
+                if (newStatus != null) {
+                    user.setStatus(newStatus);
+                }
+                OrganizationEventType type = newRole != null && oldRole != newRole
+                        ? OrganizationEventType.USER_ROLE_CHANGED
+                        : OrganizationEventType.USER_STATUS_CHANGED;
+                eventPublisher.publishEvent(OrganizationEvent.forUserChange(type, user, oldRole, oldStatus));
+            }
+        }
+        
+        int failed = userIds.size() - eligible.size();
+        log.info("Bulk update by {}: role={}, status={}, {} users updated, {} rejected",
+                currentUser.getEmail(), newRole, newStatus, eligible.size(), failed);
+        
+        return BulkUserUpdateResult.builder()
+                .results(new ArrayList<>(results.values()))
+                .updated(eligible.size())
+                .failed(failed)
+                .build();
+    }
+    
     private void validateRoleChange(User userToUpdate, UserRole newRole, User currentUser) {
         UserRole oldRole = userToUpdate.getRole();
         
@@ -160,11 +280,11 @@ public class UserService {
         
         // Check if this would be the last admin being demoted
         if ((oldRole == UserRole.ADMIN || oldRole == UserRole.UNPAID_ADMIN) && 
-            (newRole == UserRole.MEMBER || newRole == UserStatus.INACTIVE)) {
+            newRole == UserRole.MEMBER) {
             
             long adminCount = userRepository.countAdminsByOrganizationId(userToUpdate.getOrganization().getId());
             if (adminCount <= 1) {
-                throw new InvalidOperationException("Cannot demote the last admin from the organization");
+                throw new InvalidOperationException(ErrorCode.LAST_ADMIN, "Cannot demote the last admin from the organization");
             }
         }
         
@@ -188,7 +308,7 @@ public class UserService {
                 .organizationName(user.getOrganization().getName())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
-                .lastLoginAt(user.getLastLoginAt())
+                .lastLoginAt(userActivityRecorder.lastLoginAt(user))
                 .build();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.subscription.service;
+
+import com.subscription.dto.AadhaarVerificationRequest;
+import com.subscription.model.AadhaarVerification;
+import com.subscription.model.AadhaarVerificationStatus;
+import com.subscription.repository.AadhaarVerificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache of successful Aadhaar verifications keyed by a salted hash of the Aadhaar number.
+ * A hit requires the same demographic details and a verification within the freshness window.
+ * Misses fall back to one indexed lookup on aadhaar_verifications.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VerificationResultCache {
+
+    private final AadhaarVerificationRepository aadhaarVerificationRepository;
+
+    @Value("${aadhaar.hash.salt}")
+    private String hashSalt;
+
+    @Value("${aadhaar.cache.freshness-minutes:1440}")
+    private long freshnessMinutes;
+
+    @Value("${aadhaar.cache.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<String, CachedVerification> cache = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedVerification> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Salted hash of an Aadhaar number; the raw number never leaves this method
+     */
+    public String hashAadhaar(String aadhaarNumber) {
+        return hmac(aadhaarNumber);
+    }
+
+    /**
+     * Salted hash of a list of request fields, for keys that must not reveal them
+     */
+    public String fingerprint(String... parts) {
+        StringBuilder value = new StringBuilder();
+        for (String part : parts) {
+            value.append(part == null ? "" : part).append('|');
+        }
+        return hmac(value.toString());
+    }
+
+    /**
+     * Salted hash of the demographic details a verification was made against
+     */
+    public String hashDemographics(AadhaarVerificationRequest request) {
+        String name = request.getName() == null ? "" : request.getName().trim().toLowerCase(Locale.ROOT);
+        return hmac(name + "|" + request.getDateOfBirth() + "|" + request.getGender());
+    }
+
+    /**
+     * Find a fresh successful verification for the given hashes
+     */
+    public Optional<CachedVerification> findFresh(String aadhaarHash, String demographicsHash) {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(freshnessMinutes);
+
+        CachedVerification cached;
+        synchronized (cache) {
+            cached = cache.get(aadhaarHash);
+        }
+        if (cached != null && cached.verifiedAt().isAfter(cutoff)) {
+            return demographicsHash.equals(cached.demographicsHash()) ? Optional.of(cached) : Optional.empty();
+        }
+
+        Optional<CachedVerification> persisted = aadhaarVerificationRepository
+                .findFirstByAadhaarHashAndStatusAndVerifiedAtAfterOrderByVerifiedAtDesc(
+                        aadhaarHash, AadhaarVerificationStatus.SUCCESS, cutoff)
+                .map(CachedVerification::of);
+        persisted.ifPresent(this::remember);
+
+        return persisted.filter(hit -> demographicsHash.equals(hit.demographicsHash()));
+    }
+
+    /**
+     * Record a successful verification
+     */
+    public void put(AadhaarVerification verification) {
+        if (verification.getAadhaarHash() == null || verification.getStatus() != AadhaarVerificationStatus.SUCCESS) {
+            return;
+        }
+        remember(CachedVerification.of(verification));
+    }
+
+    private void remember(CachedVerification verification) {
+        synchronized (cache) {
+            cache.put(verification.aadhaarHash(), verification);
+        }
+    }
+
+    private String hmac(String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(hashSalt.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to hash Aadhaar data", e);
+        }
+    }
+
+    public record CachedVerification(String aadhaarHash,
+                                     String demographicsHash,
+                                     String verificationId,
+                                     String maskedAadhaarNumber,
+                                     String verificationMethod,
+                                     String nameMatch,
+                                     String dobMatch,
+                                     LocalDateTime verifiedAt) {
+
+        static CachedVerification of(AadhaarVerification verification) {
+            return new CachedVerification(
+                    verification.getAadhaarHash(),
+                    verification.getDemographicsHash(),
+                    verification.getVerificationId(),
+                    verification.getAadhaarNumber(),
+                    verification.getVerificationMethod(),
+                    verification.getNameMatch(),
+                    verification.getDobMatch(),
+                    verification.getVerifiedAt());
+        }
+    }
+}
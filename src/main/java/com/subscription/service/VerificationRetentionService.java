@@ -0,0 +1,125 @@
+package com.subscription.service;
+
+import com.subscription.model.AadhaarVerificationStatus;
+import com.subscription.repository.AadhaarVerificationArchiveRepository;
+import com.subscription.repository.AadhaarVerificationRepository;
+import com.subscription.repository.DomainEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps aadhaar_verifications small. Stale PENDING/IN_PROGRESS rows are expired and old
+ * terminal rows are moved to aadhaar_verification_archive, in chunks of one short
+ * transaction each so the hot table is never locked for long.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VerificationRetentionService {
+    
+    private static final Set<AadhaarVerificationStatus> OPEN_STATUSES =
+            EnumSet.of(AadhaarVerificationStatus.PENDING, AadhaarVerificationStatus.IN_PROGRESS);
+    
+    private static final Set<AadhaarVerificationStatus> TERMINAL_STATUSES =
+            EnumSet.complementOf(EnumSet.copyOf(OPEN_STATUSES));
+    
+    private static final Set<String> OPEN_STATUS_NAMES = OPEN_STATUSES.stream()
+            .map(Enum::name)
+            .collect(Collectors.toSet());
+    
+    private final AadhaarVerificationRepository aadhaarVerificationRepository;
+    private final AadhaarVerificationArchiveRepository archiveRepository;
+    private final DomainEventRepository domainEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardJobRunner shardJobRunner;
+    
+    @Value("${aadhaar.retention.pending-ttl-minutes:30}")
+    private long pendingTtlMinutes;
+    
+    @Value("${aadhaar.retention.archive-after-days:90}")
+    private long archiveAfterDays;
+    
+    @Value("${aadhaar.retention.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Scheduled(cron = "${aadhaar.retention.cron:0 */15 * * * *}")
+    public void runRetention() {
+        shardJobRunner.forEachShard("Aadhaar verification retention", () -> {
+            int expired = expireStaleVerifications();
+            int archived = archiveTerminalVerifications();
+            if (expired > 0 || archived > 0) {
+                log.info("Aadhaar verification retention: {} expired, {} archived", expired, archived);
+            }
+        });
+    }
+    
+    /**
+     * Move PENDING/IN_PROGRESS verifications untouched for the pending TTL to EXPIRED. The age is
+     * taken from updatedAt, so a failed attempt retried back to PENDING gets a full TTL again.
+     */
+    public int expireStaleVerifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(pendingTtlMinutes);
+        int total = 0;
+        while (true) {
+            Integer updated = transactionTemplate.execute(status -> {
+                List<Long> ids = aadhaarVerificationRepository.findIdsByStatusInAndUpdatedAtBefore(
+                        OPEN_STATUSES, cutoff, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                // Log the transitions first, while the previous status is still readable
+                LocalDateTime now = LocalDateTime.now();
+                int logged = domainEventRepository.appendVerificationExpiries(ids, OPEN_STATUS_NAMES, cutoff, now);
+                // Re-check status and age so a row that completed or was retried meanwhile is left alone
+                int expired = aadhaarVerificationRepository.updateStatusByIds(
+                        ids, OPEN_STATUSES, cutoff, AadhaarVerificationStatus.EXPIRED, now);
+                if (expired != logged) {
+                    // A verification completed in between; leave this chunk to the next run
+                    log.warn("Verification status changed during expiry, retrying chunk of {} later", ids.size());
+                    status.setRollbackOnly();
+                    return 0;
+                }
+                return ids.size();
+            });
+            if (updated == null || updated == 0) {
+                return total;
+            }
+            total += updated;
+        }
+    }
+    
+    /**
+     * Move terminal verifications older than the archive threshold to the archive table
+     */
+    public int archiveTerminalVerifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+        int total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = aadhaarVerificationRepository.findIdsByStatusInAndCreatedAtBefore(
+                        TERMINAL_STATUSES, cutoff, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archiveRepository.copyFromHotTable(ids, LocalDateTime.now());
+                aadhaarVerificationRepository.deleteByIds(ids);
+                return ids.size();
+            });
+            if (moved == null || moved == 0) {
+                return total;
+            }
+            total += moved;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.subscription.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void shedsOnceTheLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 1, 10, 0.2);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(3, limiter.getInFlight());
+
+        limiter.releaseWithoutSample();
+        assertEquals(2, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void clampsTheInitialLimitAndRejectsBadBounds() {
+        assertEquals(10, new AdaptiveConcurrencyLimiter(50, 1, 10, 0.2).getLimit());
+        assertEquals(4, new AdaptiveConcurrencyLimiter(1, 4, 10, 0.2).getLimit());
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 0, 10, 0.2));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 8, 4, 0.2));
+    }
+
+    @Test
+    void failuresCutTheLimitDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, 0.2);
+
+        limiter.tryAcquire();
+        limiter.release(10 * MILLIS, true);
+        assertEquals(18, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(10 * MILLIS, true);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void growsUpToTheMaximumWhileLatencyHoldsUnderLoad() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 40, 0.2);
+
+        for (int i = 0; i < 200; i++) {
+            fill(limiter);
+            drain(limiter, 10 * MILLIS);
+        }
+        assertEquals(40, limiter.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhenTheLimitIsNotUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 40, 0.2);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire();
+            limiter.release(10 * MILLIS, false);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 1, 40, 0.2);
+        for (int i = 0; i < 50; i++) {
+            fill(limiter);
+            drain(limiter, 10 * MILLIS);
+        }
+        assertEquals(40, limiter.getLimit());
+
+        // Queueing doubles the latency; the gradient halves the target
+        for (int i = 0; i < 5; i++) {
+            fill(limiter);
+            drain(limiter, 20 * MILLIS);
+        }
+        assertTrue(limiter.getLimit() < 30, "limit should drop, was " + limiter.getLimit());
+    }
+
+    private static void fill(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // take every free slot
+        }
+    }
+
+    private static void drain(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        while (limiter.getInFlight() > 0) {
+            limiter.release(rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.subscription.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+    private static final int VIRTUAL_NODES = 160;
+
+    @Test
+    void mapsKeysTheSameWayEveryTime() {
+        ConsistentHashRing first = new ConsistentHashRing(List.of("shard-a", "shard-b", "shard-c"), VIRTUAL_NODES);
+        ConsistentHashRing second = new ConsistentHashRing(List.of("shard-c", "shard-a", "shard-b"), VIRTUAL_NODES);
+
+        for (long key = 0; key < 1_000; key++) {
+            assertEquals(first.shardFor(key), second.shardFor(key));
+        }
+    }
+
+    @Test
+    void spreadsKeysEvenly() {
+        List<String> shards = List.of("shard-a", "shard-b", "shard-c", "shard-d");
+        ConsistentHashRing ring = new ConsistentHashRing(shards, VIRTUAL_NODES);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long key = 0; key < KEYS; key++) {
+            counts.merge(ring.shardFor(key), 1, Integer::sum);
+        }
+        assertEquals(shards.size(), counts.size());
+        for (int count : counts.values()) {
+            // Within a third of the fair share
+            assertTrue(Math.abs(count - KEYS / shards.size()) < KEYS / shards.size() / 3, "unbalanced: " + counts);
+        }
+    }
+
+    @Test
+    void addingAShardMovesOnlyItsShareOfKeys() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard-a", "shard-b", "shard-c"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard-a", "shard-b", "shard-c", "shard-d"), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (long key = 0; key < KEYS; key++) {
+            String from = before.shardFor(key);
+            String to = after.shardFor(key);
+            if (!from.equals(to)) {
+                // Keys only ever move to the new shard
+                assertEquals("shard-d", to);
+                moved++;
+            }
+        }
+        assertTrue(moved > KEYS / 8 && moved < KEYS / 3, "moved " + moved + " of " + KEYS);
+    }
+
+    @Test
+    void requiresAShard() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), VIRTUAL_NODES));
+    }
+}
@@ -0,0 +1,116 @@
+package com.subscription.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.subscription.dto.ApiResponse;
+import com.subscription.dto.UserDto;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the encodings of a user listing page: bytes on the wire with and without gzip,
+ * and serialization time per page. Sizes are asserted; times are only printed, since they
+ * depend on the machine.
+ */
+class ResponseEncodingSizeTest {
+
+    private static final int USERS = 500;
+    private static final int TIMED_ROUNDS = 200;
+
+    private static ApiResponse<List<UserDto>> page;
+    private static ObjectMapper json;
+    private static ObjectMapper cbor;
+    private static ObjectMapper smile;
+
+    @BeforeAll
+    static void setUp() {
+        // Same settings as Spring Boot's auto-configured JSON mapper
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        JacksonConfig config = new JacksonConfig();
+        cbor = config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+        smile = config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        UserRole[] roles = UserRole.values();
+        List<UserDto> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UserDto.builder()
+                    .id(1_000_000L + i)
+                    .username("member" + i)
+                    .email("member" + i + "@acme-industries.example.com")
+                    .firstName("First" + i)
+                    .lastName("Member" + i)
+                    .fullName("First" + i + " Member" + i)
+                    .role(roles[i % roles.length])
+                    .status(i % 10 == 0 ? UserStatus.INACTIVE : UserStatus.ACTIVE)
+                    .organizationId(42L)
+                    .organizationName("Acme Industries")
+                    .createdAt(createdAt.plusMinutes(i))
+                    .updatedAt(createdAt.plusMinutes(i).plusDays(3))
+                    .lastLoginAt(i % 3 == 0 ? null : createdAt.plusDays(30).plusMinutes(i))
+                    .build());
+        }
+        page = ApiResponse.success("Users fetched", users);
+    }
+
+    @Test
+    void binaryEncodingsAreSmallerThanJson() throws IOException {
+        Encoded jsonPage = encode("json", json);
+        Encoded cborPage = encode("cbor", cbor);
+        Encoded smilePage = encode("smile", smile);
+
+        assertTrue(cborPage.raw() < jsonPage.raw(), "CBOR should be smaller than JSON");
+        assertTrue(smilePage.raw() < jsonPage.raw(), "Smile should be smaller than JSON");
+        // Gzip matters more than the encoding for repetitive listings
+        assertTrue(jsonPage.gzipped() * 4 < jsonPage.raw(), "gzip should shrink JSON listings at least fourfold");
+    }
+
+    @Test
+    void binaryEncodingsRoundTrip() throws IOException {
+        for (ObjectMapper mapper : List.of(json, cbor, smile)) {
+            UserDto first = page.getData().get(1);
+            UserDto decoded = mapper.readValue(mapper.writeValueAsBytes(first), UserDto.class);
+            assertEquals(first, decoded);
+        }
+    }
+
+    private static Encoded encode(String name, ObjectMapper mapper) throws IOException {
+        byte[] raw = mapper.writeValueAsBytes(page);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(raw);
+        }
+
+        // Warm up, then time whole-page serialization
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            mapper.writeValueAsBytes(page);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            mapper.writeValueAsBytes(page);
+        }
+        long micros = (System.nanoTime() - start) / TIMED_ROUNDS / 1000;
+
+        System.out.printf("%-5s %7d bytes, %6d gzipped, %5d us per page of %d users%n",
+                name, raw.length, compressed.size(), micros, USERS);
+        return new Encoded(raw.length, compressed.size());
+    }
+
+    private record Encoded(int raw, int gzipped) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.subscription.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds a code path to a query budget in tests, using the statements counted by
+ * {@link SqlStatementCounter}:
+ * <pre>
+ * List&lt;UserDto&gt; users = SqlStatementBudget.expectAtMost(2, "user listing",
+ *         () -&gt; userService.getAllUsersInOrganization(organizationId));
+ * </pre>
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    /**
+     * Run the work and fail with an {@link AssertionError} if it prepared more than
+     * maxStatements statements
+     */
+    public static <T> T expectAtMost(long maxStatements, String description, Supplier<T> work) {
+        SqlStatementCounter.start();
+        T result;
+        long statements;
+        try {
+            result = work.get();
+        } finally {
+            statements = SqlStatementCounter.stop();
+        }
+        if (statements > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements for "
+                    + description + " but " + statements + " were run");
+        }
+        return result;
+    }
+}
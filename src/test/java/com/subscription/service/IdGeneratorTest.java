@@ -0,0 +1,91 @@
+package com.subscription.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdGeneratorTest {
+
+    @Test
+    void idsIncreaseAndCarryTheNodeId() {
+        IdGenerator generator = new IdGenerator(37, new MockEnvironment());
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous, "ids must increase");
+            assertEquals(37, (id >>> 12) & 1023);
+            previous = id;
+        }
+    }
+
+    @Test
+    void stringsSortLikeTheIds() {
+        IdGenerator generator = new IdGenerator(5, new MockEnvironment());
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextString());
+        }
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(ids, sorted);
+        assertTrue(ids.stream().allMatch(id -> id.matches("[0-9A-HJKMNP-TV-Z]{13}")));
+    }
+
+    @Test
+    void unguessableStringsSortByTimeAndEndInRandomCharacters() {
+        IdGenerator generator = new IdGenerator(5, new MockEnvironment());
+
+        String first = generator.nextUnguessableString();
+        String second = generator.nextUnguessableString();
+        assertEquals(29, first.length());
+        assertTrue(first.substring(0, 13).compareTo(second.substring(0, 13)) < 0);
+        assertTrue(first.matches("[0-9A-HJKMNP-TV-Z]{29}"));
+
+        Set<String> suffixes = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            suffixes.add(generator.nextUnguessableString().substring(13));
+        }
+        assertEquals(1_000, suffixes.size());
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() {
+        IdGenerator generator = new IdGenerator(1, new MockEnvironment());
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(generator.nextId()));
+        assertEquals(200_000, ids.size());
+    }
+
+    @Test
+    void derivesANodeIdOutsideProduction() {
+        Set<Long> nodes = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            nodes.add((new IdGenerator(-1, new MockEnvironment()).nextId() >>> 12) & 1023);
+        }
+        // Same host and process, so the same node every time
+        assertEquals(1, nodes.size());
+    }
+
+    @Test
+    void rejectsMissingOrOutOfRangeNodeIds() {
+        MockEnvironment production = new MockEnvironment();
+        production.setActiveProfiles("prod");
+
+        assertThrows(IllegalStateException.class, () -> new IdGenerator(-1, production));
+        assertThrows(IllegalStateException.class, () -> new IdGenerator(1024, new MockEnvironment()));
+        assertThrows(IllegalStateException.class, () -> new IdGenerator(-2, new MockEnvironment()));
+    }
+}
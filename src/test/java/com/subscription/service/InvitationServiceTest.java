@@ -0,0 +1,109 @@
+package com.subscription.service;
+
+import com.subscription.dto.InviteUserRequest;
+import com.subscription.model.Invitation;
+import com.subscription.model.InvitationStatus;
+import com.subscription.model.Organization;
+import com.subscription.model.User;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import com.subscription.repository.InvitationRepository;
+import com.subscription.repository.OrganizationRepository;
+import com.subscription.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Invitations get a signed token in the transaction that creates them, and invitations left
+ * over from the random-token format are expired
+ */
+// Invitation mails fail fast against a local port; the service logs and carries on
+@SpringBootTest(properties = {"spring.mail.host=localhost", "spring.mail.port=1"})
+class InvitationServiceTest {
+
+    @Autowired
+    private InvitationService invitationService;
+
+    @Autowired
+    private InvitationTokenService invitationTokenService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InvitationRepository invitationRepository;
+
+    private Organization organization;
+    private User admin;
+
+    @BeforeEach
+    void seed() {
+        organization = organizationRepository.save(Organization.builder()
+                .name("Invitation Org " + UUID.randomUUID())
+                .build());
+        String name = "inviter-" + UUID.randomUUID();
+        admin = userRepository.save(User.builder()
+                .username(name)
+                .email(name + "@example.com")
+                .password("{noop}password")
+                .firstName("Invi")
+                .lastName("Ter")
+                .role(UserRole.ADMIN)
+                .status(UserStatus.ACTIVE)
+                .organization(organization)
+                .build());
+    }
+
+    @Test
+    void newInvitationsCarryASignedToken() {
+        InviteUserRequest request = new InviteUserRequest();
+        request.setEmail("invitee-" + UUID.randomUUID() + "@example.com");
+        request.setFirstName("New");
+        request.setLastName("Member");
+        request.setRole(UserRole.MEMBER);
+
+        Invitation invitation = invitationService.inviteUser(request, admin);
+
+        String stored = invitationRepository.findById(invitation.getId()).orElseThrow().getToken();
+        assertEquals(invitation.getToken(), stored);
+        assertEquals(invitation.getId(), invitationTokenService.verify(stored).invitationId());
+        assertEquals(invitation.getId(), invitationService.getInvitationByToken(stored).getId());
+    }
+
+    @Test
+    void expiryJobExpiresInvitationsWithUnsignedTokens() {
+        Invitation legacy = invitationRepository.save(pending(UUID.randomUUID().toString()));
+        Invitation signed = invitationRepository.save(pending(null));
+        signed.setToken(invitationTokenService.issue(signed));
+        invitationRepository.save(signed);
+
+        invitationService.expireOldInvitations();
+
+        assertEquals(InvitationStatus.EXPIRED, invitationRepository.findById(legacy.getId()).orElseThrow().getStatus());
+        assertEquals(InvitationStatus.PENDING, invitationRepository.findById(signed.getId()).orElseThrow().getStatus());
+    }
+
+    private Invitation pending(String token) {
+        return Invitation.builder()
+                .email("invitee-" + UUID.randomUUID() + "@example.com")
+                .firstName("Pending")
+                .lastName("Member")
+                .role(UserRole.MEMBER)
+                .organization(organization)
+                .invitedBy(admin)
+                .token(token)
+                .status(InvitationStatus.PENDING)
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .build();
+    }
+}
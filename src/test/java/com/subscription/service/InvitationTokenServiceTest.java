@@ -0,0 +1,84 @@
+package com.subscription.service;
+
+import com.subscription.exception.DomainException;
+import com.subscription.exception.ErrorCode;
+import com.subscription.model.Invitation;
+import com.subscription.model.Organization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InvitationTokenServiceTest {
+
+    private InvitationTokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = service("test-secret");
+    }
+
+    @Test
+    void verifiesWhatItIssued() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.SECONDS);
+        String token = tokenService.issue(invitation(42L, 7L, expiresAt));
+
+        InvitationTokenService.InvitationClaims claims = tokenService.verify(token);
+        assertEquals(42L, claims.invitationId());
+        assertEquals(7L, claims.organizationId());
+        assertEquals(expiresAt, claims.expiresAt());
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = tokenService.issue(invitation(42L, 7L, LocalDateTime.now().plusDays(7)));
+        char flipped = token.charAt(5) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, 5) + flipped + token.substring(6);
+
+        assertRejected(ErrorCode.INVALID_INVITATION_TOKEN, tampered);
+        assertRejected(ErrorCode.INVALID_INVITATION_TOKEN, service("other-secret").issue(
+                invitation(42L, 7L, LocalDateTime.now().plusDays(7))));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String token = tokenService.issue(invitation(42L, 7L, LocalDateTime.now().plusDays(7)));
+
+        assertRejected(ErrorCode.INVALID_INVITATION_TOKEN, null);
+        assertRejected(ErrorCode.INVALID_INVITATION_TOKEN, token.substring(1));
+        assertRejected(ErrorCode.INVALID_INVITATION_TOKEN, "*" + token.substring(1));
+        // Tokens of the old random format are not accepted
+        assertRejected(ErrorCode.INVALID_INVITATION_TOKEN, "0f8fad5b-d9cb-469f-a165-70867728950e");
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        String token = tokenService.issue(invitation(42L, 7L, LocalDateTime.now().minusMinutes(1)));
+
+        assertRejected(ErrorCode.INVITATION_NO_LONGER_VALID, token);
+    }
+
+    private void assertRejected(ErrorCode expected, String token) {
+        DomainException e = assertThrows(DomainException.class, () -> tokenService.verify(token));
+        assertEquals(expected, e.getErrorCode());
+    }
+
+    private static InvitationTokenService service(String secret) {
+        InvitationTokenService service = new InvitationTokenService();
+        ReflectionTestUtils.setField(service, "tokenSecret", secret);
+        return service;
+    }
+
+    private static Invitation invitation(Long id, Long organizationId, LocalDateTime expiresAt) {
+        return Invitation.builder()
+                .id(id)
+                .organization(Organization.builder().id(organizationId).build())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
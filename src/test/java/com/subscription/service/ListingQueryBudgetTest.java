@@ -0,0 +1,111 @@
+package com.subscription.service;
+
+import com.subscription.dto.UserDto;
+import com.subscription.model.Invitation;
+import com.subscription.model.InvitationStatus;
+import com.subscription.model.Organization;
+import com.subscription.model.User;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import com.subscription.repository.InvitationRepository;
+import com.subscription.repository.OrganizationRepository;
+import com.subscription.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.subscription.config.SqlStatementBudget.expectAtMost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The user and pending-invitation listings must run a constant number of statements, however
+ * many rows they return
+ */
+@SpringBootTest
+class ListingQueryBudgetTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InvitationService invitationService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InvitationRepository invitationRepository;
+
+    private Long organizationId;
+
+    @BeforeEach
+    void seed() {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .name("Budget Org " + UUID.randomUUID())
+                .build());
+        organizationId = organization.getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            String name = "budget-" + UUID.randomUUID();
+            users.add(User.builder()
+                    .username(name)
+                    .email(name + "@example.com")
+                    .password("{noop}password")
+                    .firstName("Budget")
+                    .lastName("User" + i)
+                    .role(i == 0 ? UserRole.ADMIN : UserRole.MEMBER)
+                    .status(UserStatus.ACTIVE)
+                    .organization(organization)
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+
+        List<Invitation> invitations = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            invitations.add(Invitation.builder()
+                    .email("invitee-" + UUID.randomUUID() + "@example.com")
+                    .firstName("Invited")
+                    .lastName("User" + i)
+                    .role(UserRole.MEMBER)
+                    .organization(organization)
+                    // A different inviter per row, so a lazy load per row would show up
+                    .invitedBy(users.get(i))
+                    .token(UUID.randomUUID().toString())
+                    .status(InvitationStatus.PENDING)
+                    .expiresAt(LocalDateTime.now().plusDays(7))
+                    .build());
+        }
+        invitationRepository.saveAll(invitations);
+    }
+
+    @Test
+    void userListingRunsAConstantNumberOfStatements() {
+        List<UserDto> users = expectAtMost(2, "user listing",
+                () -> userService.getAllUsersInOrganization(organizationId));
+
+        assertEquals(ROWS, users.size());
+    }
+
+    @Test
+    void pendingInvitationListingRunsAConstantNumberOfStatements() {
+        // Touch the associations the controller maps, outside any transaction
+        List<String> inviters = expectAtMost(2, "pending invitations",
+                () -> invitationService.getPendingInvitations(organizationId).stream()
+                        .map(invitation -> invitation.getOrganization().getName() + "/" + invitation.getInvitedBy().getFullName())
+                        .toList());
+
+        assertEquals(ROWS, inviters.size());
+    }
+}
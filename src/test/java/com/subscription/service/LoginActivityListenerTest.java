@@ -0,0 +1,89 @@
+package com.subscription.service;
+
+import com.subscription.config.ShardContext;
+import com.subscription.model.Organization;
+import com.subscription.model.User;
+import com.subscription.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginActivityListenerTest {
+
+    private UserActivityRecorder recorder;
+    private UserRepository userRepository;
+    private ObjectProvider<ShardDirectory> shardDirectory;
+    private LoginActivityListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        recorder = mock(UserActivityRecorder.class);
+        userRepository = mock(UserRepository.class);
+        shardDirectory = mock(ObjectProvider.class);
+        listener = new LoginActivityListener(recorder, userRepository, shardDirectory);
+    }
+
+    @Test
+    void recordsTheUserOfAnEntityPrincipal() {
+        User user = User.builder().id(7L).username("asha").build();
+
+        listener.onAuthenticationSuccess(success(user));
+
+        verify(recorder).recordLogin(7L);
+        verify(userRepository, never()).findByUsername("asha");
+    }
+
+    @Test
+    void looksUpOtherPrincipalsByName() {
+        when(userRepository.findByUsername("ravi")).thenReturn(Optional.of(User.builder().id(9L).build()));
+
+        listener.onAuthenticationSuccess(success("ravi"));
+
+        verify(recorder).recordLogin(9L);
+    }
+
+    @Test
+    void ignoresPrincipalsThatAreNotUsers() {
+        when(userRepository.findByUsername("actuator")).thenReturn(Optional.empty());
+
+        listener.onAuthenticationSuccess(success("actuator"));
+
+        verify(recorder, never()).recordLogin(anyLong());
+    }
+
+    @Test
+    void recordsAgainstTheShardOfTheUsersOrganization() {
+        ShardDirectory directory = mock(ShardDirectory.class);
+        when(shardDirectory.getIfAvailable()).thenReturn(directory);
+        when(directory.shardFor(3L)).thenReturn("shard-2");
+        String[] boundShard = new String[1];
+        doAnswer(invocation -> boundShard[0] = ShardContext.current()).when(recorder).recordLogin(7L);
+        User user = User.builder().id(7L).organization(Organization.builder().id(3L).build()).build();
+
+        listener.onAuthenticationSuccess(success(user));
+
+        assertEquals("shard-2", boundShard[0]);
+        assertNull(ShardContext.current());
+    }
+
+    private static AuthenticationSuccessEvent success(Object principal) {
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, List.of());
+        return new AuthenticationSuccessEvent(authentication);
+    }
+}
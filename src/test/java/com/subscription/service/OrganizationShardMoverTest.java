@@ -0,0 +1,134 @@
+package com.subscription.service;
+
+import com.subscription.config.ShardContext;
+import com.subscription.config.ShardRoutingDataSource;
+import com.subscription.dto.OrganizationStatsDto;
+import com.subscription.model.DomainAggregateType;
+import com.subscription.model.DomainEventRecord;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import com.subscription.repository.DomainEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Moving an organization must leave the analytics projections of both shards as they were,
+ * and entries written on the target afterwards must still be applied
+ */
+// Every write here has committed before the projector runs, so gaps need not be waited out
+@SpringBootTest(properties = "app.event-log.gap-timeout-ms=0")
+@ActiveProfiles("sharded")
+class OrganizationShardMoverTest {
+
+    private static final AtomicLong NEXT_ORGANIZATION = new AtomicLong(5_000_000L);
+
+    @Autowired
+    private OrganizationShardMover mover;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardRoutingDataSource routingDataSource;
+
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+
+    @Autowired
+    private DomainEventProjector projector;
+
+    @Autowired
+    private ShardJobRunner shardJobRunner;
+
+    @Test
+    void moveLeavesProjectionsOfBothShardsUnchanged() {
+        String source = "shard-1";
+        String target = shardDirectory.defaultShard();
+        Long moved = organizationOn(source);
+        Long resident = organizationOn(target);
+        for (int i = 0; i < 3; i++) {
+            memberJoined(moved);
+            memberJoined(resident);
+        }
+        projector.catchUp();
+        assertEquals(3, stats(moved).getMemberCount());
+        assertEquals(3, stats(resident).getMemberCount());
+
+        mover.move(moved, target);
+        projector.catchUp();
+
+        assertEquals(target, shardDirectory.shardFor(moved));
+        assertCounts(3, moved);
+        assertCounts(3, resident);
+
+        // Entries written on the target after the move are applied, for both organizations
+        memberJoined(moved);
+        memberJoined(resident);
+        projector.catchUp();
+        assertCounts(4, moved);
+        assertCounts(4, resident);
+
+        // And back again, from the lower identity range to the higher one
+        mover.move(moved, source);
+        memberJoined(moved);
+        projector.catchUp();
+        assertCounts(5, moved);
+        assertCounts(4, resident);
+
+        // A restart replays every shard's log and arrives at the same counts
+        DomainEventProjector replayed = new DomainEventProjector(domainEventRepository, shardJobRunner);
+        ReflectionTestUtils.setField(replayed, "batchSize", 2);
+        ReflectionTestUtils.setField(replayed, "gapTimeoutMs", 0L);
+        replayed.catchUp();
+        assertEquals(5, ShardContext.callIn(source, () -> replayed.getOrganizationStats(moved)).getMemberCount());
+        assertEquals(4, ShardContext.callIn(target, () -> replayed.getOrganizationStats(resident)).getMemberCount());
+    }
+
+    private void assertCounts(long members, Long organizationId) {
+        OrganizationStatsDto stats = stats(organizationId);
+        assertEquals(members, stats.getMemberCount());
+        assertEquals(members, stats.getActiveMemberCount());
+        assertEquals(members, stats.getRoleDistribution().get(UserRole.MEMBER));
+    }
+
+    private OrganizationStatsDto stats(Long organizationId) {
+        return ShardContext.callIn(shardDirectory.shardFor(organizationId),
+                () -> projector.getOrganizationStats(organizationId));
+    }
+
+    /**
+     * An organization whose home shard on the ring is the given one
+     */
+    private Long organizationOn(String shard) {
+        Long organizationId = NEXT_ORGANIZATION.incrementAndGet();
+        while (!shard.equals(shardDirectory.shardFor(organizationId))) {
+            organizationId = NEXT_ORGANIZATION.incrementAndGet();
+        }
+        new JdbcTemplate(routingDataSource.shardDataSource(shard)).update(
+                "INSERT INTO organizations (id, name, data_version, created_at, updated_at) VALUES (?, ?, 0, ?, ?)",
+                organizationId, "Mover Org " + organizationId, LocalDateTime.now(), LocalDateTime.now());
+        return organizationId;
+    }
+
+    private void memberJoined(Long organizationId) {
+        String shard = shardDirectory.shardFor(organizationId);
+        ShardContext.runIn(shard, () -> domainEventRepository.save(DomainEventRecord.builder()
+                .aggregateType(DomainAggregateType.USER)
+                .aggregateId(organizationId + "-" + System.nanoTime())
+                .organizationId(organizationId)
+                .eventType("USER_CREATED")
+                .toState(UserStatus.ACTIVE.name())
+                .toRole(UserRole.MEMBER.name())
+                .occurredAt(LocalDateTime.now())
+                .build()));
+    }
+}
@@ -0,0 +1,131 @@
+package com.subscription.service;
+
+import com.subscription.dto.UserSearchHit;
+import com.subscription.dto.UserSearchPage;
+import com.subscription.exception.InvalidOperationException;
+import com.subscription.model.User;
+import com.subscription.model.UserRole;
+import com.subscription.model.UserStatus;
+import com.subscription.repository.OrganizationRepository;
+import com.subscription.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserSearchIndexTest {
+
+    private static final Long ORGANIZATION_ID = 7L;
+
+    private UserRepository userRepository;
+    private OrganizationRepository organizationRepository;
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        organizationRepository = mock(OrganizationRepository.class);
+        index = new UserSearchIndex(userRepository, organizationRepository);
+
+        when(organizationRepository.findDataVersionById(ORGANIZATION_ID)).thenReturn(Optional.of(1L));
+        when(userRepository.findByOrganizationId(ORGANIZATION_ID)).thenReturn(List.of(
+                user(1L, "jonathan.smith", "jonathan.smith@acme.example", "Jonathan", "Smith"),
+                user(2L, "jon", "jon.doe@acme.example", "Jon", "Doe"),
+                user(3L, "priya.k", "priya.k@acme.example", "Priya", "Kumar"),
+                user(4L, "ravi", "ravi@acme.example", "Ravi", "Smithson")));
+    }
+
+    @Test
+    void ranksExactMatchesAbovePrefixMatches() {
+        List<UserSearchHit> hits = search("jon", false).getItems();
+
+        assertEquals(List.of(2L, 1L), ids(hits));
+        assertEquals(3, hits.get(0).getScore());
+        assertEquals(2, hits.get(1).getScore());
+    }
+
+    @Test
+    void requiresEveryQueryTermAndAddsTheirScores() {
+        List<UserSearchHit> hits = search("smith jonathan", false).getItems();
+
+        assertEquals(List.of(1L), ids(hits));
+        assertEquals(6, hits.get(0).getScore());
+        assertEquals(List.of(1L, 4L), ids(search("smith", false).getItems()));
+    }
+
+    @Test
+    void fuzzyMatchesAllowEditsByTermLength() {
+        // One typo in a five-letter word, two in an eight-letter one
+        assertTrue(search("priua", false).getItems().isEmpty());
+        assertEquals(List.of(3L), ids(search("priua", true).getItems()));
+        assertEquals(1, search("priua", true).getItems().get(0).getScore());
+        assertEquals(List.of(1L), ids(search("jonothon", true).getItems()));
+        assertTrue(search("jomothon", true).getItems().isEmpty());
+
+        // Terms under four letters must match exactly, and the first letter is never edited
+        assertTrue(search("jan", true).getItems().isEmpty());
+        assertTrue(search("kriya", true).getItems().isEmpty());
+    }
+
+    @Test
+    void fuzzyMatchesPartiallyTypedWords() {
+        // "smithson" is cut to "smiths" before it is compared
+        assertEquals(List.of(4L), ids(search("smitjs", true).getItems()));
+    }
+
+    @Test
+    void pagesThroughMatches() {
+        UserSearchPage page = index.search(ORGANIZATION_ID, "acme.example", false, 1, 3);
+
+        assertEquals(4, page.getTotalMatches());
+        assertEquals(1, page.getItems().size());
+    }
+
+    @Test
+    void rebuildsOnlyWhenTheDataVersionMoves() {
+        search("jon", false);
+        search("ravi", false);
+        verify(userRepository, times(1)).findByOrganizationId(ORGANIZATION_ID);
+
+        when(organizationRepository.findDataVersionById(ORGANIZATION_ID)).thenReturn(Optional.of(2L));
+        when(userRepository.findByOrganizationId(ORGANIZATION_ID)).thenReturn(List.of(
+                user(5L, "jonas", "jonas@acme.example", "Jonas", "Berg")));
+
+        assertEquals(List.of(5L), ids(search("jon", false).getItems()));
+        verify(userRepository, times(2)).findByOrganizationId(ORGANIZATION_ID);
+    }
+
+    @Test
+    void rejectsAnEmptyQuery() {
+        assertThrows(InvalidOperationException.class, () -> search("   ", false));
+    }
+
+    private UserSearchPage search(String query, boolean fuzzy) {
+        return index.search(ORGANIZATION_ID, query, fuzzy, 0, 20);
+    }
+
+    private static List<Long> ids(List<UserSearchHit> hits) {
+        return hits.stream().map(UserSearchHit::getId).toList();
+    }
+
+    private static User user(Long id, String username, String email, String firstName, String lastName) {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .role(UserRole.MEMBER)
+                .status(UserStatus.ACTIVE)
+                .build();
+    }
+}